@@ -0,0 +1,55 @@
+package com.example.springreviewhub;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Starts the whole application against PostgreSQL and Redis containers for the benchmarks that need a database.
+ * <p>
+ * Each benchmark fork starts its own containers and application in its trial setup and stops them in its
+ * teardown, so the measured JVM is the one holding the data.
+ * </p>
+ */
+public class BenchmarkApplication implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final ConfigurableApplicationContext context;
+
+    public BenchmarkApplication() {
+        postgres.start();
+        redis.start();
+
+        context = new SpringApplicationBuilder(SpringReviewHubApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "jwt.secret=benchmark-secret-of-at-least-32-bytes-long",
+                        "jwt.expiration=3600000",
+                        "spring.mail.username=benchmark@example.com",
+                        "spring.mail.password=benchmark",
+                        "password.hash.cost=4",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        redis.stop();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.springreviewhub.adapter.controller;
+
+import com.example.springreviewhub.BenchmarkApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the review export, from the database cursor to the encoded (and compressed) body.
+ * <p>
+ * Every invocation exports all the {@value #REVIEWS} reviews to a discarding stream and counts as one operation
+ * per row, so the score is in rows per second.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportControllerBenchmark {
+
+    private static final int USERS = 200;
+
+    private static final int MOVIES = 250;
+
+    private static final int REVIEWS = USERS * MOVIES;
+
+    @Param({"ndjson", "csv"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private BenchmarkApplication application;
+
+    private ExportController exportController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new BenchmarkApplication();
+        exportController = application.getBean(ExportController.class);
+
+        JdbcTemplate jdbcTemplate = application.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role, created_at, updated_at) " +
+                "SELECT 'benchmark-' || i, 'benchmark-' || i || '@example.com', 'not-a-hash', 'Reviewer', " +
+                "now(), now() " +
+                "FROM generate_series(1, ?) i", USERS);
+        jdbcTemplate.update("INSERT INTO movies " +
+                "(title, description, release_date, duration, genre, director, created_at) " +
+                "SELECT 'Benchmark movie ' || i, 'A movie exported by the benchmark.', DATE '2000-01-01' + i, 120, " +
+                "'Drama', 'Director ' || i, now() " +
+                "FROM generate_series(1, ?) i", MOVIES);
+        // Commas and quotes in the text, so the CSV path also pays for quoting
+        jdbcTemplate.update("INSERT INTO reviews (id, text, rating, movie_id, user_id, created_at, updated_at) " +
+                "SELECT nextval('reviews_seq'), repeat('A review, with \"quotes\" and commas. ', 8), " +
+                "1 + (u.id + m.id) % 10, m.id, u.id, now(), now() " +
+                "FROM users u CROSS JOIN movies m " +
+                "WHERE u.username LIKE 'benchmark-%' AND m.title LIKE 'Benchmark movie %'");
+
+        Integer reviews = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reviews", Integer.class);
+        if (reviews == null || reviews != REVIEWS) {
+            throw new IllegalStateException(String.format("Expected %d reviews, found %s", REVIEWS, reviews));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REVIEWS)
+    public void exportReviews() throws IOException {
+        exportController.exportReviews(format, gzip).getBody().writeTo(OutputStream.nullOutputStream());
+    }
+}
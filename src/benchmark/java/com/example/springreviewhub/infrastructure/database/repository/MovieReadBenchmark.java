@@ -0,0 +1,91 @@
+package com.example.springreviewhub.infrastructure.database.repository;
+
+import com.example.springreviewhub.BenchmarkApplication;
+import com.example.springreviewhub.adapter.mapper.MovieMapper;
+import com.example.springreviewhub.adapter.presenter.movie.MovieResponse;
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.infrastructure.database.jpa.MovieJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a page of movies for a list endpoint through managed entities with reading it through
+ * constructor projections, from the query to the response objects.
+ * <p>
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the number of bytes allocated per request. Both
+ * paths run in a transaction, as in a request, so the entity path also pays for the persistence context and
+ * the dirty checking of the loaded entities when it commits.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieReadBenchmark {
+
+    private static final String ROLE = Role.Reviewer.name();
+
+    private static final int MOVIES = 1000;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private BenchmarkApplication application;
+
+    private MovieJpaRepository movieJpaRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = new BenchmarkApplication();
+        movieJpaRepository = application.getBean(MovieJpaRepository.class);
+        transactionTemplate = application.getBean(TransactionTemplate.class);
+
+        application.getBean(JdbcTemplate.class).update(
+                "INSERT INTO movies (title, description, release_date, duration, genre, director, created_at) " +
+                        "SELECT 'Movie ' || i, repeat('A description of the movie. ', 10), " +
+                        "DATE '2000-01-01' + i, 90 + i % 60, 'Drama, Thriller', 'Director ' || i, now() " +
+                        "FROM generate_series(1, ?) i", MOVIES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<MovieResponse> entities() {
+        return transactionTemplate.execute(status -> MovieMapper.fromDomainListToResponseList(
+                com.example.springreviewhub.infrastructure.database.entity.mapper.MovieMapper.fromEntityListToDomList(
+                        movieJpaRepository.findPageWithRole(ROLE, 0L, PageRequest.of(0, pageSize)), false),
+                ROLE, false));
+    }
+
+    @Benchmark
+    public List<MovieResponse> projections() {
+        return transactionTemplate.execute(status -> MovieMapper.fromDomainListToResponseList(
+                com.example.springreviewhub.infrastructure.database.entity.mapper.MovieMapper.fromViewListToDomList(
+                        movieJpaRepository.findViewPageWithRole(ROLE, 0L, PageRequest.of(0, pageSize))),
+                ROLE, false));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.core.domain.UserDomain;
+import com.example.springreviewhub.core.interfaces.services.ITokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the authentication of a request with a bearer token by {@link JWTAuthenticationFilter}.
+ * <p>
+ * With a claims cache size of 0 every request verifies the signature once; otherwise repeated requests with
+ * the same token are answered from the cache of verified claims. {@link #validateThenExtract()} is the token
+ * handling of the filter before it verified each token once: a validation followed by a second parse. The
+ * revocation check is answered in memory, as the Bloom filter answers it for users that were never revoked.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTAuthenticationFilterBenchmark {
+
+    // Clears the authentication set by the filter, as the end of a request does
+    private static final FilterChain CHAIN = (request, response) -> SecurityContextHolder.clearContext();
+
+    @Param({"10000", "0"})
+    private long claimsCacheMaxSize;
+
+    private JwtService jwtService;
+
+    private JWTAuthenticationFilter filter;
+
+    private String token;
+
+    private String authorizationHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ITokenRevocationService tokenRevocationService = new ITokenRevocationService() {
+            @Override
+            public void revokeUser(Long userId) {
+            }
+
+            @Override
+            public boolean isRevoked(Long userId, long issuedAtEpochSecond) {
+                return false;
+            }
+        };
+        jwtService = new JwtService(new SimpleMeterRegistry(), tokenRevocationService,
+                "benchmark-secret-of-at-least-32-bytes-long", TimeUnit.HOURS.toMillis(1),
+                claimsCacheMaxSize, Duration.ofMinutes(5));
+        filter = new JWTAuthenticationFilter(jwtService);
+
+        token = jwtService.generateToken("benchmark", new UserDomain()
+                .setId(1L)
+                .setUsername("benchmark")
+                .setEmail("benchmark@example.com")
+                .setRole(Role.Reviewer));
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public int filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, CHAIN);
+
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public Claims validateThenExtract() {
+        if (!jwtService.validateToken(token)) {
+            throw new IllegalStateException("The benchmark token is not valid");
+        }
+        return jwtService.extractAllClaims(token);
+    }
+}
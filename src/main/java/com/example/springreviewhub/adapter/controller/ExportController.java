@@ -0,0 +1,129 @@
+package com.example.springreviewhub.adapter.controller;
+
+import com.example.springreviewhub.adapter.mapper.MovieMapper;
+import com.example.springreviewhub.adapter.mapper.ReviewMapper;
+import com.example.springreviewhub.adapter.presenter.StreamingBaseResponse.ItemSource;
+import com.example.springreviewhub.adapter.presenter.export.ExportFormat;
+import com.example.springreviewhub.adapter.presenter.export.StreamingExportResponse;
+import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.core.interfaces.usecases.IMovieUseCase;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Full exports of reviews and movies for admins, including soft deleted rows.
+ * <p>
+ * Rows are streamed from a database cursor straight into the response as NDJSON or CSV, optionally gzip
+ * compressed, so memory stays flat whatever the size of the tables. The number of exported rows is counted
+ * by the {@code export.rows} meter, tagged by entity and format, from which the throughput is read.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private final IReviewUseCase reviewUseCase;
+
+    private final IMovieUseCase movieUseCase;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ExportController(
+            IReviewUseCase reviewUseCase,
+            IMovieUseCase movieUseCase,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.reviewUseCase = reviewUseCase;
+        this.movieUseCase = movieUseCase;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @GetMapping("/reviews")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        Counter rows = rowCounter("reviews", exportFormat);
+
+        ItemSource<ReviewDomain> source = consumer -> reviewUseCase.exportAllReviews(review -> {
+            consumer.accept(review);
+            rows.increment();
+        });
+
+        return export("reviews", exportFormat, gzip, source,
+                review -> ReviewMapper.fromDomainToReviewResponse(review, Role.Admin.name()),
+                ReviewMapper.CSV_HEADER, ReviewMapper::fromDomainToCsvRow);
+    }
+
+    @GetMapping("/movies")
+    public ResponseEntity<StreamingResponseBody> exportMovies(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        Counter rows = rowCounter("movies", exportFormat);
+
+        ItemSource<MovieDomain> source = consumer -> movieUseCase.streamAllMoviesWithRole(
+                Role.Admin.name(), false, movie -> {
+                    consumer.accept(movie);
+                    rows.increment();
+                });
+
+        return export("movies", exportFormat, gzip, source,
+                movie -> MovieMapper.fromDomainToMovieResponse(movie, Role.Admin.name(), false),
+                MovieMapper.CSV_HEADER, MovieMapper::fromDomainToCsvRow);
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> export(
+            String name,
+            ExportFormat format,
+            boolean gzip,
+            ItemSource<T> source,
+            Function<T, Object> toJson,
+            List<String> csvHeader,
+            Function<T, List<?>> toCsvRow
+    ) {
+        StreamingResponseBody body = format == ExportFormat.CSV
+                ? StreamingExportResponse.csv(csvHeader, toCsvRow, gzip, source)
+                : StreamingExportResponse.ndjson(objectMapper, gzip,
+                        consumer -> source.forEach(item -> consumer.accept(toJson.apply(item))));
+
+        String fileName = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    private Counter rowCounter(String entity, ExportFormat format) {
+        return Counter.builder("export.rows")
+                .tag("entity", entity)
+                .tag("format", format.getExtension())
+                .register(meterRegistry);
+    }
+}
@@ -2,18 +2,26 @@ package com.example.springreviewhub.adapter.controller;
 
 import com.example.springreviewhub.adapter.mapper.MovieMapper;
 import com.example.springreviewhub.adapter.presenter.BaseResponse;
+import com.example.springreviewhub.adapter.presenter.CursorPageResponse;
+import com.example.springreviewhub.adapter.presenter.StreamingBaseResponse;
 import com.example.springreviewhub.adapter.presenter.movie.MovieResponse;
+import com.example.springreviewhub.adapter.presenter.movie.RatingDistributionResponse;
+import com.example.springreviewhub.core.domain.CursorPageDomain;
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
 import com.example.springreviewhub.core.interfaces.usecases.IMovieUseCase;
 import com.example.springreviewhub.adapter.presenter.movie.MovieRequest;
 import com.example.springreviewhub.infrastructure.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,24 +34,45 @@ public class MovieController {
 
     private final IMovieUseCase movieUseCase;
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public MovieController(IMovieUseCase movieUseCase) {
+    public MovieController(IMovieUseCase movieUseCase, ObjectMapper objectMapper) {
         this.movieUseCase = movieUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<BaseResponse<List<MovieResponse>>> getAllMovies(
+    public ResponseEntity<BaseResponse<CursorPageResponse<MovieResponse>>> getAllMovies(
             @AuthenticationPrincipal Claims claims,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(defaultValue = "false") boolean includeReviews
     ) {
         String role = JwtService.extractRoleFromClaims(claims);
-        List<MovieDomain> movies = movieUseCase.getAllMoviesWithRole(role, includeReviews);
+        CursorPageDomain<MovieDomain> page = movieUseCase.getMoviesPageWithRole(role, cursor, limit, includeReviews);
 
-        List<MovieResponse> responses = MovieMapper.fromDomainListToResponseList(movies, role, includeReviews);
+        List<MovieResponse> responses = MovieMapper.fromDomainListToResponseList(page.getItems(), role, includeReviews);
 
         return ResponseEntity.ok(BaseResponse.success(
                 "movies data fetched successfully",
-                responses));
+                CursorPageResponse.of(responses, page.getNextCursor())));
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllMovies(
+            @AuthenticationPrincipal Claims claims,
+            @RequestParam(defaultValue = "false") boolean includeReviews
+    ) {
+        String role = JwtService.extractRoleFromClaims(claims);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingBaseResponse.<MovieResponse>success(
+                        objectMapper,
+                        "movies data fetched successfully",
+                        consumer -> movieUseCase.streamAllMoviesWithRole(role, includeReviews, movie ->
+                                consumer.accept(MovieMapper.fromDomainToMovieResponse(movie, role, includeReviews)))));
     }
 
     @GetMapping("/{id}")
@@ -64,6 +93,20 @@ public class MovieController {
 
     }
 
+    @GetMapping("/{id}/rating-distribution")
+    public ResponseEntity<BaseResponse<RatingDistributionResponse>> getRatingDistribution(
+            @PathVariable Long id,
+            @AuthenticationPrincipal Claims claims
+    ) {
+        String role = JwtService.extractRoleFromClaims(claims);
+
+        RatingDistributionDomain distribution = movieUseCase.getRatingDistributionWithRole(id, role);
+
+        return ResponseEntity.ok(BaseResponse.success(
+                String.format("Rating distribution of movie with id %d fetched successfully", id),
+                MovieMapper.fromRatingDistributionToResponse(distribution)));
+    }
+
     @PostMapping
     public ResponseEntity<BaseResponse<MovieResponse>> createMovie(
             @RequestBody @Valid MovieRequest movieReq,
@@ -2,18 +2,27 @@ package com.example.springreviewhub.adapter.controller;
 
 import com.example.springreviewhub.adapter.mapper.ReviewMapper;
 import com.example.springreviewhub.adapter.presenter.BaseResponse;
+import com.example.springreviewhub.adapter.presenter.CursorPageResponse;
+import com.example.springreviewhub.adapter.presenter.StreamingBaseResponse;
+import com.example.springreviewhub.adapter.presenter.review.ReviewBatchRequest;
+import com.example.springreviewhub.adapter.presenter.review.ReviewImportResultResponse;
 import com.example.springreviewhub.adapter.presenter.review.ReviewRequest;
 import com.example.springreviewhub.adapter.presenter.review.ReviewResponse;
+import com.example.springreviewhub.core.domain.CursorPageDomain;
 import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.domain.ReviewImportResultDomain;
 import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
 import com.example.springreviewhub.infrastructure.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,9 +33,12 @@ public class ReviewController {
 
     private final IReviewUseCase reviewUseCase;
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public ReviewController(IReviewUseCase reviewUseCase) {
+    public ReviewController(IReviewUseCase reviewUseCase, ObjectMapper objectMapper) {
         this.reviewUseCase = reviewUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -42,6 +54,21 @@ public class ReviewController {
                 ReviewMapper.fromDomainListToResponseList(reviews, role)));
     }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllReviews(
+            @AuthenticationPrincipal Claims claims
+    ) {
+        String role = JwtService.extractRoleFromClaims(claims);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingBaseResponse.<ReviewResponse>success(
+                        objectMapper,
+                        "all review data fetched successfully",
+                        consumer -> reviewUseCase.streamAllReviewsWithRole(role, review ->
+                                consumer.accept(ReviewMapper.fromDomainToReviewResponse(review, role)))));
+    }
+
     @PostMapping
     public ResponseEntity<BaseResponse<ReviewResponse>> createReview(
             @RequestBody @Valid ReviewRequest reviewReq,
@@ -60,6 +87,25 @@ public class ReviewController {
         );
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BaseResponse<List<ReviewImportResultResponse>>> importReviews(
+            @RequestBody @Valid ReviewBatchRequest batchReq
+    ) {
+        List<ReviewDomain> reviewDomains = batchReq.getReviews().stream()
+                .map(ReviewMapper::fromReviewImportRequestToDomain)
+                .toList();
+
+        List<ReviewImportResultDomain> results = reviewUseCase.importReviews(reviewDomains);
+
+        long createdCount = results.stream()
+                .filter(result -> result.getStatus() == ReviewImportResultDomain.Status.CREATED)
+                .count();
+
+        return ResponseEntity.ok(BaseResponse.success(
+                String.format("%d of %d reviews imported", createdCount, results.size()),
+                ReviewMapper.fromImportResultListToResponseList(results)));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BaseResponse<ReviewResponse>> updateReview(
             @PathVariable Long id,
@@ -94,31 +140,39 @@ public class ReviewController {
     }
 
     @GetMapping("/movie/{id}")
-    public ResponseEntity<BaseResponse<List<ReviewResponse>>> getReviewsByMovieId(
+    public ResponseEntity<BaseResponse<CursorPageResponse<ReviewResponse>>> getReviewsByMovieId(
             @PathVariable Long id,
-            @AuthenticationPrincipal Claims claims
+            @AuthenticationPrincipal Claims claims,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
         String role = JwtService.extractRoleFromClaims(claims);
 
-        List<ReviewDomain> reviews = reviewUseCase.getReviewsByMovieIdWithRole(id, role);
+        CursorPageDomain<ReviewDomain> page = reviewUseCase.getReviewsPageByMovieIdWithRole(id, role, cursor, limit);
 
         return ResponseEntity.ok(BaseResponse.success(
                 String.format("review data by movie id %d fetched successfully", id),
-                ReviewMapper.fromDomainListToResponseList(reviews, role)));
+                CursorPageResponse.of(
+                        ReviewMapper.fromDomainListToResponseList(page.getItems(), role),
+                        page.getNextCursor())));
     }
 
     @GetMapping("/user/{id}")
-    public ResponseEntity<BaseResponse<List<ReviewResponse>>> getReviewsByUserId(
+    public ResponseEntity<BaseResponse<CursorPageResponse<ReviewResponse>>> getReviewsByUserId(
             @PathVariable Long id,
-            @AuthenticationPrincipal Claims claims
+            @AuthenticationPrincipal Claims claims,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
         String role = JwtService.extractRoleFromClaims(claims);
 
-        List<ReviewDomain> reviews = reviewUseCase.getReviewsByUserIdWithRole(id, role);
+        CursorPageDomain<ReviewDomain> page = reviewUseCase.getReviewsPageByUserIdWithRole(id, role, cursor, limit);
 
         return ResponseEntity.ok(BaseResponse.success(
                 String.format("review data by user id %d fetched successfully", id),
-                ReviewMapper.fromDomainListToResponseList(reviews, role)));
+                CursorPageResponse.of(
+                        ReviewMapper.fromDomainListToResponseList(page.getItems(), role),
+                        page.getNextCursor())));
     }
 
     @DeleteMapping("/{id}")
@@ -2,6 +2,7 @@ package com.example.springreviewhub.adapter.controller;
 
 import com.example.springreviewhub.adapter.mapper.UserMapper;
 import com.example.springreviewhub.adapter.presenter.BaseResponse;
+import com.example.springreviewhub.adapter.presenter.StreamingBaseResponse;
 import com.example.springreviewhub.adapter.presenter.user.UserChangeEmailRequest;
 import com.example.springreviewhub.adapter.presenter.user.UserChangePasswordRequest;
 import com.example.springreviewhub.adapter.presenter.user.UserUpdateRequest;
@@ -12,13 +13,16 @@ import com.example.springreviewhub.core.domain.UserDomain;
 import com.example.springreviewhub.core.exception.PermissionIssueException;
 import com.example.springreviewhub.core.interfaces.usecases.IUserUseCase;
 import com.example.springreviewhub.infrastructure.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,9 +33,12 @@ public class UserController {
 
     private final IUserUseCase userUseCase;
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public UserController(IUserUseCase userUseCase) {
+    public UserController(IUserUseCase userUseCase, ObjectMapper objectMapper) {
         this.userUseCase = userUseCase;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/me")
@@ -66,6 +73,25 @@ public class UserController {
         }
     }
 
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAll(
+            @AuthenticationPrincipal Claims claims,
+            @RequestParam(defaultValue = "false") boolean includeReviews
+    ) {
+        String role = JwtService.extractRoleFromClaims(claims);
+        boolean isAdmin = Role.Admin.name().equals(role);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(StreamingBaseResponse.<Object>success(
+                        objectMapper,
+                        "all users fetched successfully",
+                        consumer -> userUseCase.streamAllUsersWithRole(role, includeReviews, user ->
+                                consumer.accept(isAdmin
+                                        ? UserMapper.fromDomainToAdvanceUserResponse(user, includeReviews)
+                                        : UserMapper.fromDomainToUserLimitedResponse(user, includeReviews)))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BaseResponse<?>> getById(
             @PathVariable Long id,
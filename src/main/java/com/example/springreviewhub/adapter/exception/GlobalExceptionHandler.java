@@ -4,6 +4,7 @@ import com.example.springreviewhub.adapter.presenter.BaseResponse;
 import com.example.springreviewhub.core.exception.*;
 import com.example.springreviewhub.infrastructure.exception.InvalidAuthHeaderException;
 import com.example.springreviewhub.infrastructure.exception.InvalidTokenException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -106,6 +107,13 @@ public class GlobalExceptionHandler {
                 .body(BaseResponse.failure(ex.getMessage()));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<BaseResponse<Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(BaseResponse.failure(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<BaseResponse<Object>> handleGeneralException(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
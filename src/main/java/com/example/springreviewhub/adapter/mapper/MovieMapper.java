@@ -3,14 +3,26 @@ package com.example.springreviewhub.adapter.mapper;
 import com.example.springreviewhub.adapter.presenter.movie.MovieExtendedResponse;
 import com.example.springreviewhub.adapter.presenter.movie.MovieRequest;
 import com.example.springreviewhub.adapter.presenter.movie.MovieResponse;
+import com.example.springreviewhub.adapter.presenter.movie.RatingBucketResponse;
+import com.example.springreviewhub.adapter.presenter.movie.RatingDistributionResponse;
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
 import com.example.springreviewhub.core.domain.Role;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class MovieMapper {
 
+    /**
+     * Columns of a movie in CSV exports, in the order of {@link #fromDomainToCsvRow(MovieDomain)}.
+     */
+    public static final List<String> CSV_HEADER = List.of(
+            "id", "title", "description", "releaseDate", "duration", "genre", "director", "rating",
+            "createdAt", "updatedAt", "deletedAt");
+
     /**
      * Converts a `MovieRequest` object to a `MovieDomain` object.
      *
@@ -95,4 +107,46 @@ public class MovieMapper {
                 .map(movieDomain -> fromDomainToMovieResponse(movieDomain, role, isIncludeReviews))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Converts a `RatingDistributionDomain` object to a `RatingDistributionResponse` object.
+     *
+     * @param distribution the rating distribution of a movie
+     * @return a `RatingDistributionResponse` object with one bucket per possible rating, empty ones included
+     */
+    public static RatingDistributionResponse fromRatingDistributionToResponse(RatingDistributionDomain distribution) {
+        List<RatingBucketResponse> buckets = IntStream
+                .rangeClosed(RatingDistributionDomain.MIN_RATING, RatingDistributionDomain.MAX_RATING)
+                .mapToObj(rating -> new RatingBucketResponse()
+                        .setRating(rating)
+                        .setCount(distribution.getReviewCount(rating)))
+                .collect(Collectors.toList());
+
+        return new RatingDistributionResponse()
+                .setMovieId(distribution.getMovieId())
+                .setTotalReviews(distribution.getTotalReviews())
+                .setAverageRating(distribution.getAverageRating())
+                .setDistribution(buckets);
+    }
+
+    /**
+     * Converts a `MovieDomain` object to the values of a CSV export row.
+     *
+     * @param movieDomain the domain-level movie model
+     * @return the values of the columns of {@link #CSV_HEADER}, null for empty cells
+     */
+    public static List<Object> fromDomainToCsvRow(MovieDomain movieDomain) {
+        return Arrays.asList(
+                movieDomain.getId(),
+                movieDomain.getTitle(),
+                movieDomain.getDescription(),
+                movieDomain.getReleaseDate(),
+                movieDomain.getDuration(),
+                movieDomain.getGenre(),
+                movieDomain.getDirector(),
+                movieDomain.getRating(),
+                movieDomain.getCreatedAt(),
+                movieDomain.getUpdatedAt(),
+                movieDomain.getDeletedAt());
+    }
 }
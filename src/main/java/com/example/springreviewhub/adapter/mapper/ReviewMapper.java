@@ -2,16 +2,26 @@ package com.example.springreviewhub.adapter.mapper;
 
 import com.example.springreviewhub.adapter.presenter.movie.MovieExtendedResponse;
 import com.example.springreviewhub.adapter.presenter.review.ReviewExtendedResponse;
+import com.example.springreviewhub.adapter.presenter.review.ReviewImportRequest;
+import com.example.springreviewhub.adapter.presenter.review.ReviewImportResultResponse;
 import com.example.springreviewhub.adapter.presenter.review.ReviewRequest;
 import com.example.springreviewhub.adapter.presenter.review.ReviewResponse;
 import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.domain.ReviewImportResultDomain;
 import com.example.springreviewhub.core.domain.Role;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class ReviewMapper {
 
+    /**
+     * Columns of a review in CSV exports, in the order of {@link #fromDomainToCsvRow(ReviewDomain)}.
+     */
+    public static final List<String> CSV_HEADER = List.of(
+            "id", "text", "rating", "movieId", "userId", "createdAt", "updatedAt", "deletedAt");
+
     /**
      * Convert a `ReviewRequest` object to a `ReviewDomain` object.
      *
@@ -31,6 +41,41 @@ public class ReviewMapper {
                 .setMovieId(reviewRequest.getMovieId());
     }
 
+    /**
+     * Convert a `ReviewImportRequest` object to a `ReviewDomain` object.
+     *
+     * @param importRequest a single review of a batch import request
+     * @return a `ReviewDomain` object representing the domain-level review model
+     */
+    public static ReviewDomain fromReviewImportRequestToDomain(ReviewImportRequest importRequest) {
+        if (importRequest == null) {
+            return null;
+        }
+        return new ReviewDomain()
+                .setText(importRequest.getText())
+                .setRating(importRequest.getRating())
+                .setMovieId(importRequest.getMovieId())
+                .setUserId(importRequest.getUserId());
+    }
+
+    /**
+     * Convert a list of `ReviewImportResultDomain` objects to a list of `ReviewImportResultResponse` objects.
+     *
+     * @param results the outcome of every review of a batch import
+     * @return a list of `ReviewImportResultResponse` objects to be sent as an API response
+     */
+    public static List<ReviewImportResultResponse> fromImportResultListToResponseList(
+            List<ReviewImportResultDomain> results
+    ) {
+        return results.stream()
+                .map(result -> new ReviewImportResultResponse()
+                        .setIndex(result.getIndex())
+                        .setStatus(result.getStatus().name())
+                        .setReviewId(result.getReviewId())
+                        .setMessage(result.getMessage()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Convert a `ReviewDomain` object to a `ReviewResponse` object.
      *
@@ -58,6 +103,11 @@ public class ReviewMapper {
                 .setCreatedAt(reviewDomain.getCreatedAt())
                 .setUpdatedAt(reviewDomain.getUpdatedAt());
 
+        if (reviewDomain.getTextLength() != null) {
+            response.setTextLength(reviewDomain.getTextLength())
+                    .setTruncated(reviewDomain.isExcerpt());
+        }
+
         // Map Admin-specific properties
         if (response instanceof ReviewExtendedResponse) {
             ((ReviewExtendedResponse) response).setDeletedAt(reviewDomain.getDeletedAt());
@@ -80,4 +130,22 @@ public class ReviewMapper {
                 .map(reviewDomain -> fromDomainToReviewResponse(reviewDomain, role))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Convert a `ReviewDomain` object to the values of a CSV export row.
+     *
+     * @param reviewDomain the domain object containing review data
+     * @return the values of the columns of {@link #CSV_HEADER}, null for empty cells
+     */
+    public static List<Object> fromDomainToCsvRow(ReviewDomain reviewDomain) {
+        return Arrays.asList(
+                reviewDomain.getId(),
+                reviewDomain.getText(),
+                reviewDomain.getRating(),
+                reviewDomain.getMovieId(),
+                reviewDomain.getUserId(),
+                reviewDomain.getCreatedAt(),
+                reviewDomain.getUpdatedAt(),
+                reviewDomain.getDeletedAt());
+    }
 }
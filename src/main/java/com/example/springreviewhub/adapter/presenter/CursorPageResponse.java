@@ -0,0 +1,18 @@
+package com.example.springreviewhub.adapter.presenter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorPageResponse<T> of(List<T> items, String nextCursor) {
+        return new CursorPageResponse<>(items, nextCursor, nextCursor != null);
+    }
+}
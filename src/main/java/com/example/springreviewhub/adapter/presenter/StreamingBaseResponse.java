@@ -0,0 +1,65 @@
+package com.example.springreviewhub.adapter.presenter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Streaming counterpart of {@link BaseResponse} for list endpoints.
+ * <p>
+ * The {@code success}/{@code message}/{@code data} envelope is written directly to the response
+ * output stream, and every item is serialized as soon as the source produces it instead of
+ * collecting the whole list first. The JSON is identical to the one produced by {@link BaseResponse}.
+ * </p>
+ */
+public class StreamingBaseResponse {
+
+    /**
+     * Source of the items written in the {@code data} array.
+     *
+     * @param <T> the type of the items
+     */
+    @FunctionalInterface
+    public interface ItemSource<T> {
+
+        /**
+         * Hands every item to the given consumer, in order.
+         *
+         * @param consumer the consumer writing each item to the response
+         */
+        void forEach(Consumer<T> consumer);
+    }
+
+    public static <T> StreamingResponseBody success(ObjectMapper objectMapper, String message, ItemSource<T> source) {
+        // Flushing after every item would defeat the output buffer
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return outputStream -> {
+            JsonGenerator generator = writer.createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeStringField("message", message);
+            generator.writeArrayFieldStart("data");
+
+            source.forEach(item -> {
+                try {
+                    writer.writeValue(generator, item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springreviewhub.adapter.presenter.export;
+
+import com.example.springreviewhub.core.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * File formats supported by the admin export endpoints.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv; charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Resolves the format from the value of a request parameter, ignoring case.
+     *
+     * @param value the requested format, e.g. "ndjson" or "csv"
+     * @return the matching format
+     * @throws BadRequestException if the format is not supported
+     */
+    public static ExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(String.format(
+                        "Unsupported export format '%s', expected one of: %s", value,
+                        Arrays.stream(values()).map(ExportFormat::getExtension).collect(Collectors.joining(", ")))));
+    }
+}
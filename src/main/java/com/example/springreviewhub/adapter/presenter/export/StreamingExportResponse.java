@@ -0,0 +1,116 @@
+package com.example.springreviewhub.adapter.presenter.export;
+
+import com.example.springreviewhub.adapter.presenter.StreamingBaseResponse.ItemSource;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes exported rows to the response as NDJSON or CSV, optionally gzip compressed.
+ * <p>
+ * Every row is written as soon as the source produces it, through fixed size buffers, so the memory used by
+ * an export does not depend on the number of rows. Unlike {@link com.example.springreviewhub.adapter.presenter.BaseResponse},
+ * there is no envelope: the body is the file itself.
+ * </p>
+ */
+public class StreamingExportResponse {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes every item as a JSON object on its own line.
+     */
+    public static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, boolean gzip, ItemSource<T> source) {
+        // Lines are terminated explicitly, and flushing after every item would defeat the buffers
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+
+        return outputStream -> {
+            GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+            OutputStream target = gzipStream != null ? gzipStream : outputStream;
+
+            JsonGenerator generator = writer.createGenerator(target)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            source.forEach(item -> {
+                try {
+                    writer.writeValue(generator, item);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.close();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        };
+    }
+
+    /**
+     * Writes a header line followed by one line per item, as RFC 4180 CSV.
+     *
+     * @param header the names of the columns
+     * @param toRow  extracts the values of the columns from an item, in header order
+     */
+    public static <T> StreamingResponseBody csv(
+            List<String> header, Function<T, List<?>> toRow, boolean gzip, ItemSource<T> source) {
+        return outputStream -> {
+            GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    gzipStream != null ? gzipStream : outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+            writeCsvLine(writer, header);
+            source.forEach(item -> {
+                try {
+                    writeCsvLine(writer, toRow.apply(item));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        };
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.springreviewhub.adapter.presenter.movie;
+
+import lombok.Getter;
+
+@Getter
+public class RatingBucketResponse {
+    private int rating;
+    private long count;
+
+    // Chaining setters
+    public RatingBucketResponse setRating(int rating) {
+        this.rating = rating;
+        return this;
+    }
+
+    public RatingBucketResponse setCount(long count) {
+        this.count = count;
+        return this;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.springreviewhub.adapter.presenter.movie;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+public class RatingDistributionResponse {
+    private Long movieId;
+    private long totalReviews;
+    private BigDecimal averageRating;
+    private List<RatingBucketResponse> distribution;
+
+    // Chaining setters
+    public RatingDistributionResponse setMovieId(Long movieId) {
+        this.movieId = movieId;
+        return this;
+    }
+
+    public RatingDistributionResponse setTotalReviews(long totalReviews) {
+        this.totalReviews = totalReviews;
+        return this;
+    }
+
+    public RatingDistributionResponse setAverageRating(BigDecimal averageRating) {
+        this.averageRating = averageRating;
+        return this;
+    }
+
+    public RatingDistributionResponse setDistribution(List<RatingBucketResponse> distribution) {
+        this.distribution = distribution;
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.springreviewhub.adapter.presenter.review;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ReviewBatchRequest {
+
+    @NotEmpty(message = "At least one review is required")
+    @Size(max = 5000, message = "A batch must not contain more than 5000 reviews")
+    private List<@Valid ReviewImportRequest> reviews;
+}
@@ -0,0 +1,23 @@
+package com.example.springreviewhub.adapter.presenter.review;
+
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+
+@Getter
+public class ReviewImportRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Movie ID is required")
+    private Long movieId;
+
+    @NotBlank(message = "Review text is required")
+    @Size(min = 10, message = "Review text must be at least 10 characters")
+    private String text;
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 10, message = "Rating must not exceed 10")
+    private Integer rating;
+}
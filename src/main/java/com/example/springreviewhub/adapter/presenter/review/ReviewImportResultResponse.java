@@ -0,0 +1,35 @@
+package com.example.springreviewhub.adapter.presenter.review;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReviewImportResultResponse {
+
+    private int index;
+    private String status;
+    private Long reviewId;
+    private String message;
+
+    // Chaining Setters
+    public ReviewImportResultResponse setIndex(int index) {
+        this.index = index;
+        return this;
+    }
+
+    public ReviewImportResultResponse setStatus(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public ReviewImportResultResponse setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+        return this;
+    }
+
+    public ReviewImportResultResponse setMessage(String message) {
+        this.message = message;
+        return this;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.springreviewhub.adapter.presenter.review;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -17,6 +18,13 @@ public class ReviewResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Only set by list endpoints, which return an excerpt of the text
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer textLength;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean truncated;
+
     // Chaining Setters
     public ReviewResponse setId(Long id) {
         this.id = id;
@@ -52,4 +60,14 @@ public class ReviewResponse {
         this.updatedAt = updatedAt;
         return this;
     }
+
+    public ReviewResponse setTextLength(Integer textLength) {
+        this.textLength = textLength;
+        return this;
+    }
+
+    public ReviewResponse setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+        return this;
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.springreviewhub.core.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Represents a single page of a keyset (cursor) paginated result.
+ * <p>
+ * A page holds the items that were read plus an opaque cursor pointing just after the last item.
+ * Clients pass the cursor back to continue reading, so the cost of fetching a page does not depend
+ * on how deep into the result set the client has scrolled.
+ * </p>
+ *
+ * @param <T> the type of the items in the page
+ */
+@Getter
+@ToString
+public class CursorPageDomain<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * Creates a new page.
+     *
+     * @param items      the items of the page
+     * @param nextCursor the opaque cursor of the next page, or {@code null} if this is the last page
+     */
+    public CursorPageDomain(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Checks whether there are more items after this page.
+     *
+     * @return true if a next page exists, false otherwise
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
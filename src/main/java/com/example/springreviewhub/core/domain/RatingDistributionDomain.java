@@ -0,0 +1,77 @@
+package com.example.springreviewhub.core.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Represents how the ratings of the live reviews of a movie are distributed.
+ * <p>
+ * The distribution holds one counter per possible rating, from {@link #MIN_RATING} to {@link #MAX_RATING}.
+ * It is maintained incrementally on every review write, so reading it never scans the reviews.
+ * </p>
+ */
+@Getter
+@ToString
+public class RatingDistributionDomain {
+
+    public static final int MIN_RATING = ReviewDomain.MIN_RATING;
+    public static final int MAX_RATING = ReviewDomain.MAX_RATING;
+
+    private final Long movieId;
+    private final long[] reviewCounts;
+
+    /**
+     * Creates a new distribution.
+     *
+     * @param movieId      the ID of the movie
+     * @param reviewCounts the number of reviews per rating, the count of rating {@code r} at index {@code r - 1}
+     */
+    public RatingDistributionDomain(Long movieId, long[] reviewCounts) {
+        this.movieId = movieId;
+        this.reviewCounts = reviewCounts;
+    }
+
+    /**
+     * Gets the number of reviews with the given rating.
+     *
+     * @param rating the rating, between {@link #MIN_RATING} and {@link #MAX_RATING}
+     * @return the number of reviews with that rating
+     */
+    public long getReviewCount(int rating) {
+        return reviewCounts[rating - MIN_RATING];
+    }
+
+    /**
+     * Gets the total number of reviews of the movie.
+     *
+     * @return the sum of all the counters
+     */
+    public long getTotalReviews() {
+        long total = 0;
+        for (long count : reviewCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the average rating of the reviews, rounded to one decimal like the rating of the movie.
+     *
+     * @return the average rating, or null if the movie has no reviews
+     */
+    public BigDecimal getAverageRating() {
+        long total = getTotalReviews();
+        if (total == 0) {
+            return null;
+        }
+
+        long sum = 0;
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            sum += rating * getReviewCount(rating);
+        }
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(total), 1, RoundingMode.HALF_UP);
+    }
+}
@@ -17,6 +17,9 @@ import java.util.Objects;
 @ToString
 public class ReviewDomain {
 
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 10;
+
     private Long id;
     private String text;
     private Integer rating;
@@ -27,6 +30,7 @@ public class ReviewDomain {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+    private Integer textLength;
 
     //=========== Chaining Setters =============
 
@@ -127,4 +131,24 @@ public class ReviewDomain {
         this.deletedAt = deletedAt;
         return this;
     }
+
+    /**
+     * Sets the length of the full text, when only an excerpt of the text was loaded.
+     *
+     * @param textLength the number of characters of the full text, or null if the text was loaded in full
+     * @return the current instance for method chaining
+     */
+    public ReviewDomain setTextLength(Integer textLength) {
+        this.textLength = textLength;
+        return this;
+    }
+
+    /**
+     * Checks whether the text only holds the beginning of the full text.
+     *
+     * @return true if the text was cut, false if it is complete
+     */
+    public boolean isExcerpt() {
+        return textLength != null && text != null && textLength > text.codePointCount(0, text.length());
+    }
 }
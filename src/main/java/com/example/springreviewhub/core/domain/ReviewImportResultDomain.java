@@ -0,0 +1,77 @@
+package com.example.springreviewhub.core.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represents the outcome of importing a single review of a batch.
+ * <p>
+ * Every review of a batch gets one result, at the same position as the review in the batch, telling
+ * whether it was created and, if not, why it was skipped.
+ * </p>
+ */
+@Getter
+@ToString
+public class ReviewImportResultDomain {
+
+    /**
+     * The possible outcomes of importing a review.
+     */
+    public enum Status {
+        CREATED,
+        USER_NOT_FOUND,
+        MOVIE_NOT_FOUND,
+        DUPLICATE
+    }
+
+    private int index;
+    private Status status;
+    private Long reviewId;
+    private String message;
+
+    //=========== Chaining Setters =============
+
+    /**
+     * Sets the position of the review in the batch.
+     *
+     * @param index the zero based position of the review
+     * @return the current instance for method chaining
+     */
+    public ReviewImportResultDomain setIndex(int index) {
+        this.index = index;
+        return this;
+    }
+
+    /**
+     * Sets the outcome of the import.
+     *
+     * @param status the outcome of the import
+     * @return the current instance for method chaining
+     */
+    public ReviewImportResultDomain setStatus(Status status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Sets the ID of the created review.
+     *
+     * @param reviewId the ID of the created review, or null if it was skipped
+     * @return the current instance for method chaining
+     */
+    public ReviewImportResultDomain setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+        return this;
+    }
+
+    /**
+     * Sets a human readable description of the outcome.
+     *
+     * @param message the description of the outcome
+     * @return the current instance for method chaining
+     */
+    public ReviewImportResultDomain setMessage(String message) {
+        this.message = message;
+        return this;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.springreviewhub.core.exception;
+
+/**
+ * Custom exception for requests rejected because the server is temporarily overloaded.
+ * <p>
+ * Clients are told how long to wait before retrying.
+ * </p>
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.springreviewhub.core.interfaces.repositories;
 
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interface for the Movie repository.
@@ -29,6 +33,35 @@ public interface IMovieRepository {
      */
     List<MovieDomain> findAllMoviesWithRole(String role, boolean includeReviews);
 
+    /**
+     * Retrieves a page of movies ordered by ID, starting right after the given ID.
+     * <p>
+     * This method performs a keyset (seek) query on the primary key index, so the cost of reading a page
+     * stays constant regardless of how far into the catalog the page is. Movies are filtered by the specified
+     * role and reviews can optionally be included.
+     * </p>
+     *
+     * @param role           the role to filter movies by
+     * @param afterId        the ID of the last movie of the previous page, or {@code null} for the first page
+     * @param limit          the maximum number of movies to return
+     * @param includeReviews whether to include associated reviews
+     * @return a list of at most {@code limit} movies with an ID greater than {@code afterId}
+     */
+    List<MovieDomain> findMoviesPageWithRole(String role, Long afterId, int limit, boolean includeReviews);
+
+    /**
+     * Streams all movies filtered by a specified role to the given consumer.
+     * <p>
+     * Movies are read from a database cursor and handed to the consumer one at a time, in ID order, so the
+     * full result set is never held in memory. The consumer is invoked inside a read-only transaction.
+     * </p>
+     *
+     * @param role           the role to filter movies by
+     * @param includeReviews whether to include associated reviews
+     * @param consumer       the consumer receiving each movie
+     */
+    void streamAllMoviesWithRole(String role, boolean includeReviews, Consumer<MovieDomain> consumer);
+
     /**
      * Retrieves a movie by its unique identifier with an option to include reviews.
      * <p>
@@ -91,6 +124,50 @@ public interface IMovieRepository {
      */
     void softDelete(Long id);
 
+    /**
+     * Recomputes the rating of the given movies from their reviews.
+     * <p>
+     * This method rebuilds the rating aggregates of the movies from their reviews that are not deleted,
+     * in a single set-based statement. The rating changes that are still pending are left out of the
+     * aggregates, since they are applied later, and are not applied concurrently with the recompute.
+     * </p>
+     *
+     * @param movieIds the unique identifiers of the movies to recompute
+     */
+    void recomputeRatings(Collection<Long> movieIds);
+
+    /**
+     * Finds the movies whose stored rating aggregates, with their pending rating changes, no longer match
+     * their reviews.
+     *
+     * @return the unique identifiers of the movies whose rating must be recomputed
+     */
+    List<Long> findMovieIdsWithRatingDrift();
+
+    /**
+     * Finds which of the given movies exist and are not deleted.
+     * <p>
+     * This method checks all the given IDs with a single query, instead of loading every movie.
+     * </p>
+     *
+     * @param ids the unique identifiers of the movies to check
+     * @return the identifiers of the movies that exist and are not deleted
+     */
+    Set<Long> findActiveIdsByIdIn(Collection<Long> ids);
+
+    /**
+     * Finds the rating distribution of a movie, filtered by the role.
+     * <p>
+     * The distribution is read from the counters maintained on every review write, with a single query
+     * that also checks that the movie is visible to the role.
+     * </p>
+     *
+     * @param id   the unique identifier of the movie
+     * @param role the user role to support soft delete
+     * @return an {@code Optional} containing the distribution, or empty if no visible movie has this ID
+     */
+    Optional<RatingDistributionDomain> findRatingDistributionWithRole(Long id, String role);
+
     /**
      * Searches for movies based on various criteria with an option to include reviews.
      * <p>
@@ -3,8 +3,11 @@ package com.example.springreviewhub.core.interfaces.repositories;
 import com.example.springreviewhub.core.domain.MovieDomain;
 import com.example.springreviewhub.core.domain.ReviewDomain;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for the Review repository.
@@ -28,39 +31,56 @@ public interface IReviewRepository {
     /**
      * Retrieves all reviews with a specified role.
      * <p>
-     * This method fetches a list of all review records filtered by the specified role.
+     * This method fetches a list of all review records filtered by the specified role. Only the beginning of
+     * the text of every review is read, together with the length of the full text.
      * </p>
      *
      * @param role           the role to filter reviews by
+     * @param excerptLength  the maximum number of characters of the text to read
      * @return a list of all reviews filtered by role
      */
-    List<ReviewDomain> findAllReviewsWithRole(String role);
+    List<ReviewDomain> findAllReviewsWithRole(String role, int excerptLength);
 
     /**
-     * Saves or updates an existing review in the database.
+     * Streams all reviews filtered by a specified role to the given consumer.
      * <p>
-     * This method maps the provided domain model to an entity, handles any necessary
-     * persistence operations (such as managing detached entities), and saves the review record.
-     * After saving, the method maps the saved entity back to a domain model for the return value.
+     * Reviews are read from a database cursor and handed to the consumer one at a time, in ID order, so the
+     * full result set is never held in memory. The consumer is invoked inside a read-only transaction.
+     * Only the beginning of the text of every review is read, together with the length of the full text.
      * </p>
      *
-     * @param reviewDomain the review domain object containing review data to be saved or updated
-     * @return ReviewDomain the saved or updated review as a domain object
+     * @param role          the role to filter reviews by
+     * @param excerptLength the maximum number of characters of the text to read
+     * @param consumer      the consumer receiving each review
      */
-    ReviewDomain saveReview(ReviewDomain reviewDomain);
+    void streamAllReviewsWithRole(String role, int excerptLength, Consumer<ReviewDomain> consumer);
 
     /**
-     * Checks if a review already exists for a specific user and movie.
+     * Streams all reviews, including deleted ones, to the given consumer, with their full text.
      * <p>
-     * This method checks if a review from a given user for a particular movie already exists in the repository.
-     * It returns `true` if the review exists, otherwise `false`.
+     * Like {@link #streamAllReviewsWithRole(String, int, Consumer)}, reviews are read from a database cursor and
+     * handed to the consumer one at a time, in ID order, inside a read-only transaction.
      * </p>
      *
-     * @param userId the ID of the user
-     * @param movieId the ID of the movie
-     * @return `true` if the review exists, otherwise `false`
+     * @param consumer the consumer receiving each review
      */
-    boolean existsByUserIdAndMovieId(Long userId, Long movieId);
+    void streamAllReviews(Consumer<ReviewDomain> consumer);
+
+    /**
+     * Updates the text and rating of a review written by a given user.
+     * <p>
+     * The review is updated in a single statement which also returns its rating before the update, so callers
+     * never derive a rating change from a rating that was read earlier and may have been overwritten since.
+     * </p>
+     *
+     * @param id     the unique identifier of the review
+     * @param userId the unique identifier of the author
+     * @param text   the new text
+     * @param rating the new rating
+     * @return the review as it was before the update, with only its movie ID, rating and deletion time
+     * populated, or an empty Optional if the user has no review with this ID
+     */
+    Optional<ReviewDomain> updateContentByAuthor(Long id, Long userId, String text, Integer rating);
 
     /**
      * Finds a review by user ID and movie ID.
@@ -102,30 +122,40 @@ public interface IReviewRepository {
 
 
     /**
-     * Retrieves all reviews for a specific movie and filtered by role.
+     * Retrieves a page of the reviews for a specific movie, newest first, filtered by role.
      * <p>
-     * This method fetches a list of reviews associated with a particular movie ID and ensures it is filtered with the
-     * specified role for role-based access scenarios.
+     * This method performs a keyset (seek) query ordered by creation time and ID, so the cost of reading a page
+     * does not depend on how many pages were read before it.
      * </p>
      *
-     * @param movieId the ID of the movie
-     * @param role the role used to filter the reviews (e.g., 'Admin', 'User')
+     * @param movieId        the ID of the movie
+     * @param role           the role used to filter the reviews (e.g., 'Admin', 'User')
+     * @param afterCreatedAt the creation time of the last review of the previous page, or null for the first page
+     * @param afterId        the ID of the last review of the previous page, or null for the first page
+     * @param limit          the maximum number of reviews to return
+     * @param excerptLength  the maximum number of characters of the text to read
      * @return a list of reviews for the specified movie
      */
-    List<ReviewDomain> findByMovieIdWithRole(Long movieId, String role);
+    List<ReviewDomain> findPageByMovieIdWithRole(
+            Long movieId, String role, LocalDateTime afterCreatedAt, Long afterId, int limit, int excerptLength);
 
     /**
-     * Retrieves all reviews by a specific user and filtered by role.
+     * Retrieves a page of the reviews by a specific user, newest first, filtered by role.
      * <p>
-     * This method fetches a list of reviews written by a particular user ID and ensures it is filtered with the
-     * specified role for role-based access scenarios.
+     * This method performs a keyset (seek) query ordered by creation time and ID, so the cost of reading a page
+     * does not depend on how many pages were read before it.
      * </p>
      *
-     * @param userId the ID of the user
-     * @param role the role used to filter the reviews (e.g., 'Admin', 'User')
+     * @param userId         the ID of the user
+     * @param role           the role used to filter the reviews (e.g., 'Admin', 'User')
+     * @param afterCreatedAt the creation time of the last review of the previous page, or null for the first page
+     * @param afterId        the ID of the last review of the previous page, or null for the first page
+     * @param limit          the maximum number of reviews to return
+     * @param excerptLength  the maximum number of characters of the text to read
      * @return a list of reviews written by the specified user
      */
-    List<ReviewDomain> findByUserIdWithRole(Long userId, String role);
+    List<ReviewDomain> findPageByUserIdWithRole(
+            Long userId, String role, LocalDateTime afterCreatedAt, Long afterId, int limit, int excerptLength);
 
     /**
      * Deletes a review by its unique identifier.
@@ -156,8 +186,80 @@ public interface IReviewRepository {
      * This method marks a review as deleted without physically removing it from the repository.
      * Useful for maintaining historical data while preventing access to the review in active queries.
      * </p>
+     * <p>
+     * The movie ID and rating are those of the row the delete affected, so callers can update the rating of
+     * the movie without reading the review first, which could race with a concurrent update of the review.
+     * </p>
      *
      * @param id the unique identifier of the review to be soft deleted
+     * @return the soft deleted review, with only its movie ID and rating populated, or empty if it did not
+     * exist or was already deleted
+     */
+    Optional<ReviewDomain> softDelete(Long id);
+
+    /**
+     * Performs a soft delete on all the reviews of a movie at once.
+     * <p>
+     * Only reviews that are not deleted yet are affected. The movie ID and rating of every affected review are
+     * returned, so that callers can update the ratings without reading the reviews again.
+     * </p>
+     *
+     * @param movieId the unique identifier of the movie
+     * @return the soft deleted reviews, with only their movie ID and rating populated
+     */
+    List<ReviewDomain> softDeleteByMovieId(Long movieId);
+
+    /**
+     * Performs a soft delete on all the reviews of a user at once.
+     * <p>
+     * Only reviews that are not deleted yet are affected. The movie ID and rating of every affected review are
+     * returned, so that callers can update the ratings without reading the reviews again.
+     * </p>
+     *
+     * @param userId the unique identifier of the user
+     * @return the soft deleted reviews, with only their movie ID and rating populated
+     */
+    List<ReviewDomain> softDeleteByUserId(Long userId);
+
+    /**
+     * Inserts a new review unless its author already has a review for the movie, in a single round trip.
+     * <p>
+     * Nothing is inserted if the movie or the user does not exist or is deleted, or if the user already has a
+     * review for the movie that is not deleted. Uniqueness is enforced by the database, so the check is safe
+     * against concurrent inserts.
+     * </p>
+     *
+     * @param reviewDomain the review to insert, with its movie and user IDs
+     * @return an Optional containing the inserted review, or empty if nothing was inserted
+     */
+    Optional<ReviewDomain> insertIfAbsent(ReviewDomain reviewDomain);
+
+    /**
+     * Inserts several new reviews at once, skipping those whose author already has a review for the movie.
+     * <p>
+     * The reviews only need their movie and user IDs, the movies and users are not loaded. Reviews are sent to
+     * the database in a few multi-row statements, outside of the persistence context, so pending changes of the
+     * caller's transaction are left alone. Uniqueness is enforced by the database, so a review inserted
+     * concurrently for the same pair makes the imported one skipped instead of failing the whole import. The
+     * reviews must not contain the same user and movie pair twice.
+     * </p>
+     *
+     * @param reviews the reviews to insert
+     * @return for every review, in the same order, the inserted review with its generated ID, or empty if it
+     * was skipped
+     */
+    List<Optional<ReviewDomain>> insertAllIfAbsent(List<ReviewDomain> reviews);
+
+    /**
+     * Finds the reviews that are not deleted written by any of the given users for any of the given movies.
+     * <p>
+     * Only the user and movie IDs of the returned reviews are populated. This is used to check a whole batch of
+     * reviews for duplicates with a single query.
+     * </p>
+     *
+     * @param userIds  the unique identifiers of the users
+     * @param movieIds the unique identifiers of the movies
+     * @return the user and movie ID pairs of the matching reviews
      */
-    void softDelete(Long id);
+    List<ReviewDomain> findActiveByUserIdInAndMovieIdIn(Collection<Long> userIds, Collection<Long> movieIds);
 }
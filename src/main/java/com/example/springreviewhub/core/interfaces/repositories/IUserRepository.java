@@ -2,8 +2,11 @@ package com.example.springreviewhub.core.interfaces.repositories;
 
 import com.example.springreviewhub.core.domain.UserDomain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interface for the User repository.
@@ -78,6 +81,19 @@ public interface IUserRepository {
      */
     List<UserDomain> findAllWithRole(String role, boolean includeReviews);
 
+    /**
+     * Streams all users filtered by a specified role to the given consumer.
+     * <p>
+     * Users are read from a database cursor and handed to the consumer one at a time, in ID order, so the
+     * full result set is never held in memory. The consumer is invoked inside a read-only transaction.
+     * </p>
+     *
+     * @param role           the role to filter users by (e.g., 'Admin')
+     * @param includeReviews whether to include associated reviews
+     * @param consumer       the consumer receiving each user
+     */
+    void streamAllWithRole(String role, boolean includeReviews, Consumer<UserDomain> consumer);
+
     /**
      * Saves a new user or updates an existing user in the repository.
      * <p>
@@ -90,6 +106,26 @@ public interface IUserRepository {
      */
     UserDomain save(UserDomain user);
 
+    /**
+     * Locks an active user account after too many failed login attempts.
+     * <p>
+     * Only the lockout state is written, and only if the account is still active.
+     * </p>
+     *
+     * @param id                  the ID of the user to lock
+     * @param failedLoginAttempts the number of failed attempts that caused the lockout
+     * @return true if the account was locked by this call, false if it was already locked
+     */
+    boolean lock(Long id, int failedLoginAttempts);
+
+    /**
+     * Replaces the password hash of a user, without rewriting the rest of the user.
+     *
+     * @param id       the ID of the user to update
+     * @param password the new password hash
+     */
+    void updatePassword(Long id, String password);
+
     /**
      * Soft deletes a user by setting a flag or marking the user as deleted.
      * <p>
@@ -100,4 +136,15 @@ public interface IUserRepository {
      * @param id the ID of the user to soft delete
      */
     void softDelete(Long id);
+
+    /**
+     * Finds which of the given users exist and are not deleted.
+     * <p>
+     * This method checks all the given IDs with a single query, instead of loading every user.
+     * </p>
+     *
+     * @param ids the unique identifiers of the users to check
+     * @return the identifiers of the users that exist and are not deleted
+     */
+    Set<Long> findActiveIdsByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,27 @@
+package com.example.springreviewhub.core.interfaces.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface for recording the last successful login of users outside of the login request.
+ * <p>
+ * The last login time is informational only, so logins just record it in memory and the times are
+ * written to the users in periodic batches, the most recent login of each user winning. The stored
+ * last login times therefore lag behind the logins by at most the configured flush window.
+ * </p>
+ */
+public interface ILastLoginRecorder {
+
+    /**
+     * Record a successful login of a user.
+     *
+     * @param userId  the ID of the user
+     * @param loginAt the time of the login
+     */
+    void record(Long userId, LocalDateTime loginAt);
+
+    /**
+     * Write all the recorded logins now.
+     */
+    void flush();
+}
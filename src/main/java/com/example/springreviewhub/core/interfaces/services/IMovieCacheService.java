@@ -0,0 +1,46 @@
+package com.example.springreviewhub.core.interfaces.services;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+
+import java.util.Optional;
+
+/**
+ * Interface for the movie detail cache.
+ * <p>
+ * This interface defines a read-through cache for single movies as returned to a given role, with or
+ * without their reviews. Entries are keyed by role because the visible content (soft deleted movies
+ * and reviews) depends on it. Any write that changes a movie or one of its reviews must evict it.
+ * </p>
+ */
+public interface IMovieCacheService {
+
+    /**
+     * Retrieve a cached movie.
+     *
+     * @param movieId        the ID of the movie
+     * @param role           the role the movie was fetched for
+     * @param includeReviews whether the cached movie includes its reviews
+     * @return an Optional containing the cached movie, or empty on a cache miss
+     */
+    Optional<MovieDomain> get(Long movieId, String role, boolean includeReviews);
+
+    /**
+     * Store a movie in the cache.
+     *
+     * @param role           the role the movie was fetched for
+     * @param includeReviews whether the movie includes its reviews
+     * @param movie          the movie to cache
+     */
+    void put(String role, boolean includeReviews, MovieDomain movie);
+
+    /**
+     * Evict every cached variant of a movie.
+     * <p>
+     * When called inside a transaction, the eviction happens once the transaction commits, so that
+     * concurrent readers cannot put the old state back into the cache.
+     * </p>
+     *
+     * @param movieId the ID of the movie to evict
+     */
+    void evict(Long movieId);
+}
@@ -1,5 +1,20 @@
 package com.example.springreviewhub.core.interfaces.services;
 
+import com.example.springreviewhub.core.domain.ReviewDomain;
+
+import java.util.Collection;
+import java.util.List;
+
 public interface IMovieService {
     void refreshMovieRating(Long movieId);
+
+    void refreshMovieRatings(Collection<Long> movieIds);
+
+    void applyRatingChange(Long movieId, Integer removedRating, Integer addedRating);
+
+    void addReviewRatings(List<ReviewDomain> createdReviews);
+
+    void removeReviewRatings(List<ReviewDomain> deletedReviews);
+
+    int reconcileRatings();
 }
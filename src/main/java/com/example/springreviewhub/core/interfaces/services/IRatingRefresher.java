@@ -0,0 +1,42 @@
+package com.example.springreviewhub.core.interfaces.services;
+
+import java.util.Map;
+
+/**
+ * Interface for refreshing movie ratings outside of the request that changed a review.
+ * <p>
+ * Review writes only record how they change the number of reviews of their movie per rating, from
+ * which both the rating and the rating distribution of the movie are updated. The changes are recorded
+ * durably with the review and applied later in the background, several changes to the same movie being
+ * merged into a single update, so concurrent review writes never wait on the row of the movie. Ratings
+ * therefore lag behind the reviews by about the configured flush window.
+ * </p>
+ */
+public interface IRatingRefresher {
+
+    /**
+     * Record a change to the ratings of a movie.
+     * <p>
+     * When called inside a transaction, the change is recorded in that transaction, so it is only applied
+     * if the transaction commits.
+     * </p>
+     *
+     * @param movieId           the ID of the movie
+     * @param reviewCountDeltas the change of the number of reviews of the movie per rating, the change for
+     *                          rating {@code r} at index {@code r - 1} (e.g. +1 at the rating of a new review)
+     */
+    void submit(Long movieId, int[] reviewCountDeltas);
+
+    /**
+     * Record changes to the ratings of several movies at once, like {@link #submit(Long, int[])}, in a single
+     * round trip whatever the number of movies.
+     *
+     * @param reviewCountDeltasByMovie the change of the number of reviews per rating, by movie ID
+     */
+    void submitAll(Map<Long, int[]> reviewCountDeltasByMovie);
+
+    /**
+     * Apply all the recorded changes now, including the ones recorded on other nodes.
+     */
+    void flush();
+}
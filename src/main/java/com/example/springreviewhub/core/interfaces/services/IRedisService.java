@@ -1,5 +1,7 @@
 package com.example.springreviewhub.core.interfaces.services;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,6 +28,37 @@ public interface IRedisService {
      */
     void set(String key, String value, long timeout, TimeUnit unit);
 
+    /**
+     * Store a value in Redis unless the key already exists.
+     * <p>
+     * The check and the write are a single command, so when several callers race for the same key exactly
+     * one of them stores its value.
+     * </p>
+     *
+     * @param key     the key under which the value will be stored
+     * @param value   the value to store
+     * @param timeout the expiration time for the entry; if zero or negative, the entry will not expire
+     * @param unit    the time unit of the expiration time (e.g., seconds, minutes)
+     * @return true if the value was stored, false if the key already existed
+     */
+    boolean setIfAbsent(String key, String value, long timeout, TimeUnit unit);
+
+    /**
+     * Store a value in Redis unless another key, the guard, exists.
+     * <p>
+     * The check and the write run as one script, so a guard set concurrently either blocks the write or is
+     * set after it.
+     * </p>
+     *
+     * @param key      the key under which the value will be stored
+     * @param value    the value to store
+     * @param timeout  the expiration time for the entry; if zero or negative, the entry will not expire
+     * @param unit     the time unit of the expiration time (e.g., seconds, minutes)
+     * @param guardKey the key whose existence prevents the write
+     * @return true if the value was stored, false if the guard key existed
+     */
+    boolean setUnlessGuarded(String key, String value, long timeout, TimeUnit unit, String guardKey);
+
     /**
      * Retrieve a value from Redis by its key.
      * <p>
@@ -38,6 +71,33 @@ public interface IRedisService {
      */
     String get(String key);
 
+    /**
+     * Find the keys matching a pattern.
+     * <p>
+     * The keyspace is walked incrementally with {@code SCAN}, so Redis is never blocked the way {@code KEYS}
+     * would block it. Keys created or deleted during the walk may or may not be returned.
+     * </p>
+     *
+     * @param pattern the glob-style pattern of the keys (e.g. {@code otp-code:*})
+     * @return the matching keys
+     */
+    Set<String> scan(String pattern);
+
+    /**
+     * Atomically increment a counter in Redis.
+     * <p>
+     * A missing key is created at 1, and the expiration time is set only then, so the counter expires a fixed
+     * time after its first increment. The increment and the expiration are applied in a single atomic step:
+     * concurrent callers always observe distinct values and the counter never outlives its window.
+     * </p>
+     *
+     * @param key     the key of the counter
+     * @param timeout the expiration time of a new counter
+     * @param unit    the time unit of the expiration time
+     * @return the value of the counter after the increment
+     */
+    long increment(String key, long timeout, TimeUnit unit);
+
     /**
      * Delete a key and its associated value from Redis.
      * <p>
@@ -48,4 +108,26 @@ public interface IRedisService {
      * @param key the key to delete from Redis
      */
     void del(String key);
+
+    /**
+     * Delete several keys and their associated values from Redis in a single round trip.
+     * <p>
+     * Keys that do not exist are ignored.
+     * </p>
+     *
+     * @param keys the keys to delete from Redis
+     */
+    void del(Collection<String> keys);
+
+    /**
+     * Publish a message on a Redis pub/sub channel.
+     * <p>
+     * The message is delivered to every subscriber currently listening on the channel, on every node.
+     * Nothing is stored: subscribers that are not connected at that moment never receive it.
+     * </p>
+     *
+     * @param channel the channel to publish on
+     * @param message the message to publish
+     */
+    void publish(String channel, String message);
 }
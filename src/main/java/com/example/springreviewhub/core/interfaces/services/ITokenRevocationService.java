@@ -0,0 +1,31 @@
+package com.example.springreviewhub.core.interfaces.services;
+
+/**
+ * Interface for revoking the access tokens of users before they expire.
+ * <p>
+ * Tokens are stateless, so revoking the tokens of a user means rejecting every token of that user issued
+ * before the revocation. Users can log in again afterwards, if their account still allows it, and the new
+ * tokens are accepted.
+ * </p>
+ */
+public interface ITokenRevocationService {
+
+    /**
+     * Revoke all the tokens issued to a user so far.
+     * <p>
+     * When called inside a transaction, the tokens are only revoked once the transaction commits.
+     * </p>
+     *
+     * @param userId the ID of the user
+     */
+    void revokeUser(Long userId);
+
+    /**
+     * Check whether a token was revoked.
+     *
+     * @param userId             the ID of the user the token was issued to
+     * @param issuedAtEpochSecond the time the token was issued, in seconds since the epoch
+     * @return true if the token was revoked, false otherwise
+     */
+    boolean isRevoked(Long userId, long issuedAtEpochSecond);
+}
@@ -1,10 +1,13 @@
 package com.example.springreviewhub.core.interfaces.usecases;
 
+import com.example.springreviewhub.core.domain.CursorPageDomain;
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for Movie Use Cases.
@@ -29,6 +32,37 @@ public interface IMovieUseCase {
      */
     List<MovieDomain> getAllMoviesWithRole(String role, boolean includeReviews);
 
+    /**
+     * Retrieves a single page of movies filtered by a specific role, using cursor based pagination.
+     * <p>
+     * This method returns at most {@code limit} movies located right after the given cursor, together with
+     * the cursor of the next page. The cursor is opaque to clients; passing {@code null} starts from the
+     * beginning of the catalog. Reviews associated with the movies can also be included if specified.
+     * </p>
+     *
+     * @param role the role used to filter the movies (e.g., 'Admin', 'User')
+     * @param cursor the opaque cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the requested page size, clamped to the configured maximum, or {@code null} for the default
+     * @param includeReviews whether to include associated reviews with the movies
+     * @return a {@link CursorPageDomain} holding the movies of the page and the cursor of the next page
+     * @throws com.example.springreviewhub.core.exception.BadRequestException if the limit is below 1
+     */
+    CursorPageDomain<MovieDomain> getMoviesPageWithRole(
+            String role, String cursor, Integer limit, boolean includeReviews);
+
+    /**
+     * Streams all movies filtered by a specific role to the given consumer.
+     * <p>
+     * This method is meant for large exports: movies are handed to the consumer one at a time as they are
+     * read, so memory usage stays flat regardless of the catalog size.
+     * </p>
+     *
+     * @param role the role used to filter the movies (e.g., 'Admin', 'User')
+     * @param includeReviews whether to include associated reviews with the movies
+     * @param consumer the consumer receiving each {@link MovieDomain}
+     */
+    void streamAllMoviesWithRole(String role, boolean includeReviews, Consumer<MovieDomain> consumer);
+
     /**
      * Retrieves details of a specific movie by its ID, with an option to include reviews.
      * <p>
@@ -57,6 +91,19 @@ public interface IMovieUseCase {
      */
     MovieDomain getMovieByIdWithRole(Long id, String role, boolean includeReviews);
 
+    /**
+     * Retrieves how the ratings of the reviews of a movie are distributed, filtered by role.
+     * <p>
+     * The distribution counts the reviews of the movie per rating, from 1 to 10. It is maintained on every
+     * review write, so reading it does not depend on the number of reviews of the movie.
+     * </p>
+     *
+     * @param id   the unique identifier of the movie
+     * @param role the role of the user (e.g., 'Admin', 'Reviewer')
+     * @return the {@link RatingDistributionDomain} of the movie
+     */
+    RatingDistributionDomain getRatingDistributionWithRole(Long id, String role);
+
     /**
      * Creates a new movie entry in the system.
      * <p>
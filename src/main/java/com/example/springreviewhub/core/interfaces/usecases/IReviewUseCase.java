@@ -1,9 +1,12 @@
 package com.example.springreviewhub.core.interfaces.usecases;
 
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.CursorPageDomain;
 import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.domain.ReviewImportResultDomain;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for Review Use Cases.
@@ -58,6 +61,7 @@ public interface IReviewUseCase {
      * <p>
      * This method fetches a list of all reviews that are associated with the specified role.
      * It can be used to retrieve reviews available to users with a certain role (e.g., Admin, User).
+     * The text of every review is cut to the configured excerpt length, see {@link ReviewDomain#isExcerpt()}.
      * </p>
      *
      * @param role the role used to filter the reviews (e.g., 'Admin', 'User')
@@ -65,6 +69,19 @@ public interface IReviewUseCase {
      */
     List<ReviewDomain> getAllReviewsWithRole(String role);
 
+    /**
+     * Streams all reviews filtered by a specific role to the given consumer.
+     * <p>
+     * This method is meant for large exports: reviews are handed to the consumer one at a time as they are
+     * read, so memory usage stays flat regardless of the number of reviews.
+     * The text of every review is cut to the configured excerpt length, see {@link ReviewDomain#isExcerpt()}.
+     * </p>
+     *
+     * @param role the role used to filter the reviews (e.g., 'Admin', 'User')
+     * @param consumer the consumer receiving each {@link ReviewDomain}
+     */
+    void streamAllReviewsWithRole(String role, Consumer<ReviewDomain> consumer);
+
     /**
      * Retrieves a specific review by its ID.
      * <p>
@@ -76,12 +93,24 @@ public interface IReviewUseCase {
      */
     ReviewDomain getReviewById(Long id);
 
+    /**
+     * Streams every review, including deleted ones, to the given consumer, with its full text.
+     * <p>
+     * This method backs the admin exports: like {@link #streamAllReviewsWithRole(String, Consumer)}, reviews
+     * are handed to the consumer one at a time as they are read from a database cursor.
+     * </p>
+     *
+     * @param consumer the consumer receiving each {@link ReviewDomain}
+     */
+    void exportAllReviews(Consumer<ReviewDomain> consumer);
+
     /**
      * Retrieves a specific review by its ID and filtered by role.
      * <p>
      * This method fetches the details of a review based on its ID, but it also ensures that the
      * review matches the specified role. This is particularly useful for role-based access control
-     * where different roles may have access to different reviews.
+     * where different roles may have access to different reviews. Unlike the list methods, the full text
+     * of the review is returned.
      * </p>
      *
      * @param id   the unique identifier of the review
@@ -91,33 +120,42 @@ public interface IReviewUseCase {
     ReviewDomain getReviewByIdWithRole(Long id, String role);
 
     /**
-     * Retrieves all reviews for a specific movie and filtered by role.
+     * Retrieves a page of the reviews for a specific movie, newest first, filtered by role.
      * <p>
-     * This method fetches all reviews associated with a given movie, identified by its ID.
-     * It can be used to display user feedback for the movie, but it also ensures that the
-     * review matches the specified role. This is particularly useful for role-based access control
-     * where different roles may have access to different reviews.
+     * This method fetches the reviews associated with a given movie, identified by its ID, one page at a time.
+     * It also ensures that the reviews match the specified role. This is particularly useful for role-based
+     * access control where different roles may have access to different reviews.
+     * The text of every review is cut to the configured excerpt length, see {@link ReviewDomain#isExcerpt()}.
      * </p>
      *
      * @param movieId the unique identifier of the movie
-     * @param role the role associated with the review (e.g., 'Admin', 'User')
-     * @return a list of {@link ReviewDomain} objects representing the reviews for the movie
+     * @param role    the role associated with the review (e.g., 'Admin', 'User')
+     * @param cursor  the opaque cursor returned with the previous page, or null for the first page
+     * @param limit   the requested page size, capped by the configured maximum, or null for the default
+     * @return a page of {@link ReviewDomain} objects representing the reviews for the movie
+     * @throws com.example.springreviewhub.core.exception.BadRequestException if the limit is below 1
      */
-    List<ReviewDomain> getReviewsByMovieIdWithRole(Long movieId, String role);
+    CursorPageDomain<ReviewDomain> getReviewsPageByMovieIdWithRole(
+            Long movieId, String role, String cursor, Integer limit);
 
     /**
-     * Retrieves all reviews submitted by a specific user.
+     * Retrieves a page of the reviews submitted by a specific user, newest first, filtered by role.
      * <p>
-     * This method fetches all reviews written by a user, identified by their unique ID.
-     * It also ensures that the review matches the specified role. This is particularly useful for role-based access control
-     * where different roles may have access to different reviews.
+     * This method fetches the reviews written by a user, identified by their unique ID, one page at a time.
+     * It also ensures that the reviews match the specified role. This is particularly useful for role-based
+     * access control where different roles may have access to different reviews.
+     * The text of every review is cut to the configured excerpt length, see {@link ReviewDomain#isExcerpt()}.
      * </p>
      *
      * @param userId the unique identifier of the user
-     * @param role the role associated with the review (e.g., 'Admin', 'User')
-     * @return a list of {@link ReviewDomain} objects representing the user's reviews
+     * @param role   the role associated with the review (e.g., 'Admin', 'User')
+     * @param cursor the opaque cursor returned with the previous page, or null for the first page
+     * @param limit  the requested page size, capped by the configured maximum, or null for the default
+     * @return a page of {@link ReviewDomain} objects representing the user's reviews
+     * @throws com.example.springreviewhub.core.exception.BadRequestException if the limit is below 1
      */
-    List<ReviewDomain> getReviewsByUserIdWithRole(Long userId, String role);
+    CursorPageDomain<ReviewDomain> getReviewsPageByUserIdWithRole(
+            Long userId, String role, String cursor, Integer limit);
 
     /**
      * Deletes a review by its ID.
@@ -132,4 +170,17 @@ public interface IReviewUseCase {
     void deleteReview(Long reviewId, Long userId);
 
     void deleteReviewByMovieId(Long movieId, Long userId);
+
+    /**
+     * Imports a batch of reviews written by any users.
+     * <p>
+     * Users, movies and existing reviews are checked for the whole batch at once. Reviews whose user or movie
+     * does not exist, or whose user already reviewed the movie (in the database or earlier in the batch), are
+     * skipped; all the others are inserted. The rating of every affected movie is updated once.
+     * </p>
+     *
+     * @param reviews the reviews to import, each with its user and movie IDs
+     * @return one result per review, in the same order as the reviews
+     */
+    List<ReviewImportResultDomain> importReviews(List<ReviewDomain> reviews);
 }
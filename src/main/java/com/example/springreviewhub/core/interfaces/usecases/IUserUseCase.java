@@ -3,6 +3,7 @@ package com.example.springreviewhub.core.interfaces.usecases;
 import com.example.springreviewhub.core.domain.UserDomain;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for User Use Cases.
@@ -41,6 +42,19 @@ public interface IUserUseCase {
      */
     List<UserDomain> getAllUsersWithRole(String role, boolean includeReviews);
 
+    /**
+     * Streams all users with a specific role to the given consumer.
+     * <p>
+     * This method is meant for large exports: users are handed to the consumer one at a time as they are
+     * read, so memory usage stays flat regardless of the number of users.
+     * </p>
+     *
+     * @param role the role to filter users by (e.g., 'Admin')
+     * @param includeReviews flag to indicate whether to include reviews in the user details
+     * @param consumer the consumer receiving each {@link UserDomain}
+     */
+    void streamAllUsersWithRole(String role, boolean includeReviews, Consumer<UserDomain> consumer);
+
     /**
      * Retrieves a user by their unique ID and role.
      * <p>
@@ -1,34 +1,124 @@
 package com.example.springreviewhub.core.service;
 
-import com.example.springreviewhub.core.domain.MovieDomain;
-import com.example.springreviewhub.core.exception.NotFoundException;
+import com.example.springreviewhub.core.domain.ReviewDomain;
 import com.example.springreviewhub.core.interfaces.repositories.IMovieRepository;
-import com.example.springreviewhub.core.interfaces.repositories.IReviewRepository;
+import com.example.springreviewhub.core.interfaces.services.IMovieCacheService;
 import com.example.springreviewhub.core.interfaces.services.IMovieService;
+import com.example.springreviewhub.core.interfaces.services.IRatingRefresher;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 // it's not best practice though
 @Service
 public class MovieServiceImpl implements IMovieService {
+    // Movies recomputed and locked per transaction by the reconciliation
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
     private final IMovieRepository movieRepository;
-    private final IReviewRepository reviewRepository;
+    private final IMovieCacheService movieCacheService;
+    private final IRatingRefresher ratingRefresher;
 
-    public MovieServiceImpl(IMovieRepository movieRepository, IReviewRepository reviewRepository) {
+    public MovieServiceImpl(
+            IMovieRepository movieRepository,
+            IMovieCacheService movieCacheService,
+            IRatingRefresher ratingRefresher
+    ) {
         this.movieRepository = movieRepository;
-        this.reviewRepository = reviewRepository;
+        this.movieCacheService = movieCacheService;
+        this.ratingRefresher = ratingRefresher;
     }
 
+    /**
+     * Recomputes the rating of a movie from all of its reviews.
+     */
     public void refreshMovieRating(Long movieId) {
-        Double avgRating = reviewRepository.getAverageRatingByMovieId(movieId);
+        refreshMovieRatings(List.of(movieId));
+    }
+
+    /**
+     * Recomputes the ratings of several movies from their reviews in one statement.
+     */
+    public void refreshMovieRatings(Collection<Long> movieIds) {
+        movieRepository.recomputeRatings(movieIds);
+        movieIds.forEach(movieCacheService::evict);
+    }
+
+    /**
+     * Records the effect of a single review write on the rating and rating distribution of its movie, without
+     * reading its other reviews: the removed rating (updated or deleted review) and the added rating (created
+     * or updated review), either being null when there is none.
+     * <p>
+     * The change is applied in the background, so the review write never waits on the movie row. The movie is
+     * evicted from the detail cache on every review write, even one that leaves the rating unchanged, since the
+     * cached movie with reviews also holds the review text; the refresher evicts it again once the new rating
+     * is written.
+     * </p>
+     */
+    public void applyRatingChange(Long movieId, Integer removedRating, Integer addedRating) {
+        movieCacheService.evict(movieId);
+
+        if (Objects.equals(removedRating, addedRating)) {
+            return;
+        }
+
+        int[] reviewCountDeltas = newReviewCountDeltas();
+        if (removedRating != null) {
+            reviewCountDeltas[removedRating - ReviewDomain.MIN_RATING]--;
+        }
+        if (addedRating != null) {
+            reviewCountDeltas[addedRating - ReviewDomain.MIN_RATING]++;
+        }
+
+        ratingRefresher.submit(movieId, reviewCountDeltas);
+    }
 
-        MovieDomain movieDomain = movieRepository.findMovieById(movieId, false)
-                .orElseThrow(() -> new NotFoundException("Movie not found."));
+    /**
+     * Adds the ratings of created reviews to their movies, with a single change per movie.
+     */
+    public void addReviewRatings(List<ReviewDomain> createdReviews) {
+        submitPerMovie(createdReviews, 1);
+    }
+
+    /**
+     * Removes the ratings of soft deleted reviews from their movies, with a single change per movie.
+     */
+    public void removeReviewRatings(List<ReviewDomain> deletedReviews) {
+        submitPerMovie(deletedReviews, -1);
+    }
+
+    private void submitPerMovie(List<ReviewDomain> reviews, int sign) {
+        Map<Long, int[]> deltasByMovie = new HashMap<>();
+        for (ReviewDomain review : reviews) {
+            deltasByMovie.computeIfAbsent(review.getMovieId(), id -> newReviewCountDeltas())
+                    [review.getRating() - ReviewDomain.MIN_RATING] += sign;
+        }
+
+        deltasByMovie.keySet().forEach(movieCacheService::evict);
+        ratingRefresher.submitAll(deltasByMovie);
+    }
+
+    private static int[] newReviewCountDeltas() {
+        return new int[ReviewDomain.MAX_RATING - ReviewDomain.MIN_RATING + 1];
+    }
 
-        movieDomain.setRating(avgRating != null ? BigDecimal.valueOf(avgRating) : null);
+    /**
+     * Recomputes the ratings of the movies whose aggregates drifted from their reviews, in chunks that each
+     * lock their movies in a transaction of their own.
+     *
+     * @return the number of movies that were recomputed
+     */
+    public int reconcileRatings() {
+        List<Long> movieIds = movieRepository.findMovieIdsWithRatingDrift();
+        for (int from = 0; from < movieIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            refreshMovieRatings(movieIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, movieIds.size())));
+        }
 
-        movieRepository.updateMovie(movieId, movieDomain);
+        return movieIds.size();
     }
 
 }
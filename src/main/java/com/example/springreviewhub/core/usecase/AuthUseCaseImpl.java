@@ -3,14 +3,18 @@ package com.example.springreviewhub.core.usecase;
 import com.example.springreviewhub.core.domain.UserDomain;
 import com.example.springreviewhub.core.exception.*;
 import com.example.springreviewhub.core.interfaces.repositories.IUserRepository;
+import com.example.springreviewhub.core.interfaces.services.ILastLoginRecorder;
 import com.example.springreviewhub.core.interfaces.services.IMailerService;
 import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import com.example.springreviewhub.core.interfaces.services.ITokenRevocationService;
 import com.example.springreviewhub.core.interfaces.usecases.IAuthUseCase;
 import com.example.springreviewhub.infrastructure.security.JwtService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Random;
@@ -24,6 +28,11 @@ public class AuthUseCaseImpl implements IAuthUseCase {
     private final JwtService jwtUtil;
     private final IRedisService redisService;
     private final IMailerService mailerService;
+    private final ILastLoginRecorder lastLoginRecorder;
+    private final ITokenRevocationService tokenRevocationService;
+
+    private final int maxLoginAttempts;
+    private final Duration loginAttemptWindow;
 
     @Autowired
     public AuthUseCaseImpl(
@@ -31,13 +40,21 @@ public class AuthUseCaseImpl implements IAuthUseCase {
             PasswordEncoder passwordEncoder,
             JwtService jwtTokenProvider,
             IRedisService redisService,
-            IMailerService mailerService
+            IMailerService mailerService,
+            ILastLoginRecorder lastLoginRecorder,
+            ITokenRevocationService tokenRevocationService,
+            @Value("${auth.login.max-attempts:3}") int maxLoginAttempts,
+            @Value("${auth.login.attempt-window:15m}") Duration loginAttemptWindow
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtTokenProvider;
         this.redisService = redisService;
         this.mailerService = mailerService;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.tokenRevocationService = tokenRevocationService;
+        this.maxLoginAttempts = maxLoginAttempts;
+        this.loginAttemptWindow = loginAttemptWindow;
     }
 
     @Override
@@ -64,28 +81,39 @@ public class AuthUseCaseImpl implements IAuthUseCase {
             throw new EmailNotVerifiedException("Email is not verified");
         }
 
-        if (!passwordEncoder.matches(user.getPassword(), userDomainFromDB.getPassword())) {
-            int failedAttempts = userDomainFromDB.getFailedLoginAttempts() + 1;
-            userDomainFromDB.setFailedLoginAttempts(failedAttempts);
-
-            int remainingAttempts = 3 - failedAttempts;
+        String loginAttemptsKey = String.format("login-attempts:%d", userDomainFromDB.getId());
 
-            if (failedAttempts >= 3) {
-                userDomainFromDB.setIsActive(false);
-                userRepository.save(userDomainFromDB);
+        if (!passwordEncoder.matches(user.getPassword(), userDomainFromDB.getPassword())) {
+            // Counted atomically in Redis, the users row is only written when the account gets locked
+            int failedAttempts = (int) redisService.increment(
+                    loginAttemptsKey, loginAttemptWindow.toMillis(), TimeUnit.MILLISECONDS);
+
+            if (failedAttempts >= maxLoginAttempts) {
+                if (userRepository.lock(userDomainFromDB.getId(), failedAttempts)) {
+                    // Sessions opened before the lockout end with it, like for a deactivation
+                    tokenRevocationService.revokeUser(userDomainFromDB.getId());
+                }
+                redisService.del(loginAttemptsKey);
                 throw new AccountLockedException("Account locked due to multiple failed login attempts");
             }
 
-            userRepository.save(userDomainFromDB);
+            int remainingAttempts = maxLoginAttempts - failedAttempts;
 
             throw new InvalidCredentialsException("Invalid username or password. Remaining attempts: " + remainingAttempts);
         }
 
-        userDomainFromDB.setFailedLoginAttempts(0);
+        redisService.del(loginAttemptsKey);
 
-        userDomainFromDB.setLastLoginAt(LocalDateTime.now());
+        // The raw password is only known here, so hashes of an outdated cost are replaced now
+        if (passwordEncoder.upgradeEncoding(userDomainFromDB.getPassword())) {
+            try {
+                userRepository.updatePassword(userDomainFromDB.getId(), passwordEncoder.encode(user.getPassword()));
+            } catch (ServiceUnavailableException e) {
+                // Hashing is overloaded, the next login retries
+            }
+        }
 
-        userRepository.save(userDomainFromDB);
+        lastLoginRecorder.record(userDomainFromDB.getId(), LocalDateTime.now());
 
         return jwtUtil.generateToken(user.getUsername(), userDomainFromDB);
     }
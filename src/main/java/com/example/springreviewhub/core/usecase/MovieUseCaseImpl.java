@@ -1,19 +1,27 @@
 package com.example.springreviewhub.core.usecase;
 
+import com.example.springreviewhub.core.domain.CursorPageDomain;
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
 import com.example.springreviewhub.core.domain.ReviewDomain;
 import com.example.springreviewhub.core.domain.Role;
 import com.example.springreviewhub.core.exception.NotFoundException;
 import com.example.springreviewhub.core.interfaces.repositories.IMovieRepository;
 import com.example.springreviewhub.core.interfaces.repositories.IReviewRepository;
+import com.example.springreviewhub.core.interfaces.services.IMovieCacheService;
+import com.example.springreviewhub.core.interfaces.services.IMovieService;
 import com.example.springreviewhub.core.interfaces.usecases.IMovieUseCase;
+import com.example.springreviewhub.core.util.CursorUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,10 +31,29 @@ public class MovieUseCaseImpl implements IMovieUseCase {
 
     private final IReviewRepository reviewRepository;
 
+    private final IMovieCacheService movieCacheService;
+
+    private final IMovieService movieService;
+
+    private final int defaultPageLimit;
+
+    private final int maxPageLimit;
+
     @Autowired
-    public MovieUseCaseImpl(IMovieRepository movieRepository, IReviewRepository reviewRepository) {
+    public MovieUseCaseImpl(
+            IMovieRepository movieRepository,
+            IReviewRepository reviewRepository,
+            IMovieCacheService movieCacheService,
+            IMovieService movieService,
+            @Value("${pagination.default-limit:20}") int defaultPageLimit,
+            @Value("${pagination.max-limit:100}") int maxPageLimit
+    ) {
         this.movieRepository = movieRepository;
         this.reviewRepository = reviewRepository;
+        this.movieCacheService = movieCacheService;
+        this.movieService = movieService;
+        this.defaultPageLimit = defaultPageLimit;
+        this.maxPageLimit = maxPageLimit;
     }
 
     @Override
@@ -45,6 +72,48 @@ public class MovieUseCaseImpl implements IMovieUseCase {
         return movieDomains;
     }
 
+    @Override
+    public CursorPageDomain<MovieDomain> getMoviesPageWithRole(
+            String role, String cursor, Integer limit, boolean includeReviews) {
+        int pageLimit = CursorUtils.pageLimit(limit, defaultPageLimit, maxPageLimit);
+        Long afterId = cursor != null && !cursor.isBlank() ? CursorUtils.decodeId(cursor) : null;
+
+        // Read one extra row to find out whether another page exists without issuing a count query
+        List<MovieDomain> movieDomains = movieRepository.findMoviesPageWithRole(role, afterId, pageLimit + 1, includeReviews);
+
+        boolean hasNext = movieDomains.size() > pageLimit;
+        List<MovieDomain> pageItems = hasNext ? movieDomains.subList(0, pageLimit) : movieDomains;
+
+        if (includeReviews && Role.Reviewer.name().equalsIgnoreCase(role)) {
+            pageItems.forEach(movie -> {
+                List<ReviewDomain> filteredReviews = movie.getReviews().stream()
+                        .filter(review -> review.getDeletedAt() == null)
+                        .collect(Collectors.toList());
+                movie.setReviews(filteredReviews);
+            });
+        }
+
+        String nextCursor = hasNext ? CursorUtils.encode(pageItems.get(pageItems.size() - 1).getId()) : null;
+
+        return new CursorPageDomain<>(pageItems, nextCursor);
+    }
+
+    @Override
+    public void streamAllMoviesWithRole(String role, boolean includeReviews, Consumer<MovieDomain> consumer) {
+        boolean filterDeletedReviews = includeReviews && Role.Reviewer.name().equalsIgnoreCase(role);
+
+        movieRepository.streamAllMoviesWithRole(role, includeReviews, movie -> {
+            if (filterDeletedReviews) {
+                List<ReviewDomain> filteredReviews = movie.getReviews().stream()
+                        .filter(review -> review.getDeletedAt() == null)
+                        .collect(Collectors.toList());
+                movie.setReviews(filteredReviews);
+            }
+
+            consumer.accept(movie);
+        });
+    }
+
 
     @Override
     public MovieDomain getMovieById(Long id, boolean includeReviews) {
@@ -54,6 +123,11 @@ public class MovieUseCaseImpl implements IMovieUseCase {
 
     @Override
     public MovieDomain getMovieByIdWithRole(Long id, String role, boolean includeReviews) {
+        Optional<MovieDomain> cachedMovie = movieCacheService.get(id, role, includeReviews);
+        if (cachedMovie.isPresent()) {
+            return cachedMovie.get();
+        }
+
         MovieDomain movieDomain = movieRepository.findMovieByIdWithRole(id, role, includeReviews)
                 .orElseThrow(() -> new NotFoundException(String.format("Movie with ID %d not found.", id)));
 
@@ -64,9 +138,17 @@ public class MovieUseCaseImpl implements IMovieUseCase {
             movieDomain.setReviews(filteredReviews);
         };
 
+        movieCacheService.put(role, includeReviews, movieDomain);
+
         return movieDomain;
     }
 
+    @Override
+    public RatingDistributionDomain getRatingDistributionWithRole(Long id, String role) {
+        return movieRepository.findRatingDistributionWithRole(id, role)
+                .orElseThrow(() -> new NotFoundException(String.format("Movie with ID %d not found.", id)));
+    }
+
     @Override
     public MovieDomain createMovie(MovieDomain movieDomain) {
         return movieRepository.createMovie(movieDomain);
@@ -77,20 +159,23 @@ public class MovieUseCaseImpl implements IMovieUseCase {
         movieRepository.findMovieById(id, false)
                 .orElseThrow(() -> new NotFoundException(String.format("Movie with ID %d not found.", id)));
 
-        return movieRepository.updateMovie(id, movieDomain);
+        MovieDomain updatedMovie = movieRepository.updateMovie(id, movieDomain);
+        movieCacheService.evict(id);
+
+        return updatedMovie;
     }
 
     @Override
     @Transactional
     public void deleteMovie(Long id) {
-        MovieDomain movieDomain = movieRepository.findMovieById(id, true)
+        movieRepository.findMovieById(id, false)
                 .orElseThrow(() -> new NotFoundException(String.format("Movie with ID %d not found.", id)));
 
-        List<ReviewDomain> reviews = movieDomain.getReviews();
-
-        reviews.forEach(review -> reviewRepository.softDelete(review.getId()));
+        List<ReviewDomain> deletedReviews = reviewRepository.softDeleteByMovieId(id);
+        movieService.removeReviewRatings(deletedReviews);
 
         movieRepository.softDelete(id);
+        movieCacheService.evict(id);
     }
 
     @Override
@@ -1,20 +1,30 @@
 package com.example.springreviewhub.core.usecase;
 
-import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.CursorPageDomain;
 import com.example.springreviewhub.core.domain.ReviewDomain;
-import com.example.springreviewhub.core.domain.UserDomain;
+import com.example.springreviewhub.core.domain.ReviewImportResultDomain;
+import com.example.springreviewhub.core.domain.Role;
 import com.example.springreviewhub.core.exception.*;
 import com.example.springreviewhub.core.interfaces.repositories.IMovieRepository;
 import com.example.springreviewhub.core.interfaces.repositories.IReviewRepository;
 import com.example.springreviewhub.core.interfaces.repositories.IUserRepository;
 import com.example.springreviewhub.core.interfaces.services.IMovieService;
 import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.example.springreviewhub.core.util.CursorUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class ReviewUseCaseImpl implements IReviewUseCase {
@@ -27,13 +37,25 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
 
     private final IMovieService movieService;
 
+    private final int defaultPageLimit;
+
+    private final int maxPageLimit;
+
+    private final int excerptLength;
+
     @Autowired
     public ReviewUseCaseImpl(
             IReviewRepository reviewRepository,
             IUserRepository userRepository,
             IMovieRepository movieRepository,
-            IMovieService movieService
+            IMovieService movieService,
+            @Value("${pagination.default-limit:20}") int defaultPageLimit,
+            @Value("${pagination.max-limit:100}") int maxPageLimit,
+            @Value("${review.excerpt-length:200}") int excerptLength
     ) {
+        this.defaultPageLimit = defaultPageLimit;
+        this.maxPageLimit = maxPageLimit;
+        this.excerptLength = excerptLength;
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
         this.movieRepository = movieRepository;
@@ -43,20 +65,12 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
     @Override
     @Transactional
     public ReviewDomain createReview(Long userId, ReviewDomain reviewDomain) {
-        UserDomain user = userRepository.findById(userId, false)
-                .orElseThrow(() -> new NotFoundException("User not found."));
-        reviewDomain.setUser(user);
-
-        MovieDomain movie = movieRepository.findMovieById(reviewDomain.getMovieId(), false)
-                .orElseThrow(() -> new NotFoundException("Movie not found."));
-        reviewDomain.setMovie(movie);
-
-        if (reviewRepository.existsByUserIdAndMovieId(userId, reviewDomain.getMovieId())) {
-            throw new DuplicateReviewException("Review already exists.");
-        }
+        reviewDomain.setUserId(userId);
 
-        ReviewDomain createdReview  = reviewRepository.saveReview(reviewDomain);
-        movieService.refreshMovieRating(reviewDomain.getMovieId());
+        // Inserting is the check: the existence and uniqueness lookups only run when nothing was inserted
+        ReviewDomain createdReview = reviewRepository.insertIfAbsent(reviewDomain)
+                .orElseThrow(() -> rejectionOf(reviewDomain));
+        movieService.applyRatingChange(createdReview.getMovieId(), null, createdReview.getRating());
 
         return createdReview;
     }
@@ -65,22 +79,27 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
     @Transactional
     public ReviewDomain updateReview(Long reviewId, Long userId, ReviewDomain reviewDomain) {
 
-        Optional<ReviewDomain> existingReviewOpt = reviewRepository.findById(reviewId);
+        // The rating change is derived from the rating the update overwrote, not from an earlier read
+        Optional<ReviewDomain> previousReviewOpt = reviewRepository.updateContentByAuthor(
+                reviewId, userId, reviewDomain.getText(), reviewDomain.getRating());
+
+        // Only the review row is read, its movie and user are not needed
+        Optional<ReviewDomain> existingReviewOpt = reviewRepository.findByIdWithRole(reviewId, Role.Admin.name());
         if (existingReviewOpt.isEmpty()) {
             throw new NotFoundException(String.format("Review with ID %d not found.", reviewId));
         }
-        ReviewDomain existingReview = existingReviewOpt.get();
-
-        if (!existingReview.getUserId().equals(userId)) {
+        if (previousReviewOpt.isEmpty()) {
             throw new PermissionIssueException("You don't have permission to update this review");
         }
+        ReviewDomain previousReview = previousReviewOpt.get();
 
-        existingReview.setText(reviewDomain.getText()).setRating(reviewDomain.getRating());
-        ReviewDomain updatedReview = reviewRepository.saveReview(existingReview);
-
-        movieService.refreshMovieRating(reviewDomain.getMovieId());
+        // Deleted reviews are not part of the movie's rating
+        if (previousReview.getDeletedAt() == null) {
+            movieService.applyRatingChange(
+                    previousReview.getMovieId(), previousReview.getRating(), reviewDomain.getRating());
+        }
 
-        return updatedReview;
+        return existingReviewOpt.get();
     }
 
     @Override
@@ -90,7 +109,17 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
 
     @Override
     public List<ReviewDomain> getAllReviewsWithRole(String role) {
-        return reviewRepository.findAllReviewsWithRole(role);
+        return reviewRepository.findAllReviewsWithRole(role, excerptLength);
+    }
+
+    @Override
+    public void streamAllReviewsWithRole(String role, Consumer<ReviewDomain> consumer) {
+        reviewRepository.streamAllReviewsWithRole(role, excerptLength, consumer);
+    }
+
+    @Override
+    public void exportAllReviews(Consumer<ReviewDomain> consumer) {
+        reviewRepository.streamAllReviews(consumer);
     }
 
     @Override
@@ -106,19 +135,34 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
     }
 
     @Override
-    public List<ReviewDomain> getReviewsByMovieIdWithRole(Long movieId, String role) {
-        return reviewRepository.findByMovieIdWithRole(movieId, role);
+    public CursorPageDomain<ReviewDomain> getReviewsPageByMovieIdWithRole(
+            Long movieId, String role, String cursor, Integer limit) {
+        int pageLimit = CursorUtils.pageLimit(limit, defaultPageLimit, maxPageLimit);
+        ReviewCursor after = ReviewCursor.decode(cursor);
+
+        // Read one extra row to find out whether another page exists without issuing a count query
+        List<ReviewDomain> reviews = reviewRepository.findPageByMovieIdWithRole(
+                movieId, role, after.createdAt(), after.id(), pageLimit + 1, excerptLength);
+
+        return toPage(reviews, pageLimit);
     }
 
     @Override
-    public List<ReviewDomain> getReviewsByUserIdWithRole(Long userId, String role) {
-        return reviewRepository.findByUserIdWithRole(userId, role);
+    public CursorPageDomain<ReviewDomain> getReviewsPageByUserIdWithRole(
+            Long userId, String role, String cursor, Integer limit) {
+        int pageLimit = CursorUtils.pageLimit(limit, defaultPageLimit, maxPageLimit);
+        ReviewCursor after = ReviewCursor.decode(cursor);
+
+        List<ReviewDomain> reviews = reviewRepository.findPageByUserIdWithRole(
+                userId, role, after.createdAt(), after.id(), pageLimit + 1, excerptLength);
+
+        return toPage(reviews, pageLimit);
     }
 
     @Override
     @Transactional
     public void deleteReview(Long reviewId, Long userId) {
-        Optional<ReviewDomain> reviewOpt = reviewRepository.findById(reviewId);
+        Optional<ReviewDomain> reviewOpt = reviewRepository.findByIdWithRole(reviewId, Role.Admin.name());
         if (reviewOpt.isEmpty()) {
             throw new NotFoundException(String.format("Review with ID %d not found.", reviewId));
         }
@@ -128,9 +172,9 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
             throw new PermissionIssueException("You do not have permission to delete this review.");
         }
 
-        reviewRepository.softDelete(review.getId());
-
-        movieService.refreshMovieRating(review.getMovieId());
+        // The rating is the one of the deleted row, not the one read above, which an update may have changed
+        reviewRepository.softDelete(review.getId()).ifPresent(deleted ->
+                movieService.applyRatingChange(deleted.getMovieId(), deleted.getRating(), null));
     }
 
     @Override
@@ -140,8 +184,114 @@ public class ReviewUseCaseImpl implements IReviewUseCase {
                 .orElseThrow(() -> new NotFoundException(
                         String.format("No reviews found for userId {%d} and movieId {%d}", movieId, userId)));
 
-        reviewRepository.softDelete(review.getId());
+        reviewRepository.softDelete(review.getId()).ifPresent(deleted ->
+                movieService.applyRatingChange(deleted.getMovieId(), deleted.getRating(), null));
+    }
+
+    @Override
+    @Transactional
+    public List<ReviewImportResultDomain> importReviews(List<ReviewDomain> reviews) {
+        Set<Long> activeUserIds = userRepository.findActiveIdsByIdIn(
+                reviews.stream().map(ReviewDomain::getUserId).collect(Collectors.toSet()));
+        Set<Long> activeMovieIds = movieRepository.findActiveIdsByIdIn(
+                reviews.stream().map(ReviewDomain::getMovieId).collect(Collectors.toSet()));
+
+        Set<List<Long>> reviewedPairs = reviewRepository.findActiveByUserIdInAndMovieIdIn(activeUserIds, activeMovieIds)
+                .stream()
+                .map(review -> List.of(review.getUserId(), review.getMovieId()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<ReviewImportResultDomain> results = new ArrayList<>(reviews.size());
+        List<ReviewDomain> acceptedReviews = new ArrayList<>();
+        List<ReviewImportResultDomain> acceptedResults = new ArrayList<>();
+
+        for (int i = 0; i < reviews.size(); i++) {
+            ReviewDomain review = reviews.get(i);
+            ReviewImportResultDomain result = new ReviewImportResultDomain().setIndex(i);
+            results.add(result);
+
+            if (!activeUserIds.contains(review.getUserId())) {
+                result.setStatus(ReviewImportResultDomain.Status.USER_NOT_FOUND)
+                        .setMessage(String.format("User with ID %d not found.", review.getUserId()));
+            } else if (!activeMovieIds.contains(review.getMovieId())) {
+                result.setStatus(ReviewImportResultDomain.Status.MOVIE_NOT_FOUND)
+                        .setMessage(String.format("Movie with ID %d not found.", review.getMovieId()));
+            } else if (!reviewedPairs.add(List.of(review.getUserId(), review.getMovieId()))) {
+                result.setStatus(ReviewImportResultDomain.Status.DUPLICATE)
+                        .setMessage("Review already exists.");
+            } else {
+                acceptedReviews.add(review);
+                acceptedResults.add(result);
+            }
+        }
 
-        movieService.refreshMovieRating(movieId);
+        // A review created concurrently since the lookup above is skipped by the insert, not a failure
+        List<Optional<ReviewDomain>> insertedReviews = reviewRepository.insertAllIfAbsent(acceptedReviews);
+        List<ReviewDomain> createdReviews = new ArrayList<>(insertedReviews.size());
+        for (int i = 0; i < insertedReviews.size(); i++) {
+            Optional<ReviewDomain> insertedReview = insertedReviews.get(i);
+            if (insertedReview.isPresent()) {
+                createdReviews.add(insertedReview.get());
+                acceptedResults.get(i)
+                        .setStatus(ReviewImportResultDomain.Status.CREATED)
+                        .setReviewId(insertedReview.get().getId())
+                        .setMessage("Review created.");
+            } else {
+                acceptedResults.get(i)
+                        .setStatus(ReviewImportResultDomain.Status.DUPLICATE)
+                        .setMessage("Review already exists.");
+            }
+        }
+
+        // A single rating change per movie, however many of its reviews were imported
+        movieService.addReviewRatings(createdReviews);
+
+        return results;
+    }
+
+    /**
+     * Finds out why a review was not inserted.
+     */
+    private RuntimeException rejectionOf(ReviewDomain reviewDomain) {
+        if (userRepository.findActiveIdsByIdIn(List.of(reviewDomain.getUserId())).isEmpty()) {
+            return new NotFoundException("User not found.");
+        }
+        if (movieRepository.findActiveIdsByIdIn(List.of(reviewDomain.getMovieId())).isEmpty()) {
+            return new NotFoundException("Movie not found.");
+        }
+
+        return new DuplicateReviewException("Review already exists.");
+    }
+
+    private static CursorPageDomain<ReviewDomain> toPage(List<ReviewDomain> reviews, int pageLimit) {
+        boolean hasNext = reviews.size() > pageLimit;
+        List<ReviewDomain> pageItems = hasNext ? reviews.subList(0, pageLimit) : reviews;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ReviewDomain last = pageItems.get(pageItems.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorPageDomain<>(pageItems, nextCursor);
+    }
+
+    /**
+     * Position of the last review of a page, in {@code (createdAt, id)} order.
+     */
+    private record ReviewCursor(LocalDateTime createdAt, Long id) {
+
+        static ReviewCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new ReviewCursor(null, null);
+            }
+
+            String[] parts = CursorUtils.decode(cursor, 2);
+            try {
+                return new ReviewCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
     }
 }
@@ -9,6 +9,7 @@ import com.example.springreviewhub.core.exception.NotFoundException;
 import com.example.springreviewhub.core.interfaces.repositories.IReviewRepository;
 import com.example.springreviewhub.core.interfaces.repositories.IUserRepository;
 import com.example.springreviewhub.core.interfaces.services.IMovieService;
+import com.example.springreviewhub.core.interfaces.services.ITokenRevocationService;
 import com.example.springreviewhub.core.interfaces.usecases.IUserUseCase;
 import com.example.springreviewhub.core.util.UpdateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class UserUseCaseImpl implements IUserUseCase {
@@ -29,17 +31,21 @@ public class UserUseCaseImpl implements IUserUseCase {
 
     private final IMovieService movieService;
 
+    private final ITokenRevocationService tokenRevocationService;
+
     @Autowired
     public UserUseCaseImpl(
             IUserRepository userRepository,
             PasswordEncoder passwordEncoder,
             IReviewRepository reviewRepository,
-            IMovieService movieService
+            IMovieService movieService,
+            ITokenRevocationService tokenRevocationService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.reviewRepository = reviewRepository;
         this.movieService = movieService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -53,6 +59,11 @@ public class UserUseCaseImpl implements IUserUseCase {
         return userRepository.findAllWithRole(role, includeReviews);
     }
 
+    @Override
+    public void streamAllUsersWithRole(String role, boolean includeReviews, Consumer<UserDomain> consumer) {
+        userRepository.streamAllWithRole(role, includeReviews, consumer);
+    }
+
     @Override
     public UserDomain getUserByIdWithRole(Long id, String role) {
         return userRepository.findByIdWithRole(id, role)
@@ -84,19 +95,14 @@ public class UserUseCaseImpl implements IUserUseCase {
     @Override
     @Transactional
     public void deleteUser(Long userId) {
-        UserDomain userDomain = userRepository.findById(userId, true)
+        userRepository.findById(userId, false)
                 .orElseThrow(() -> new NotFoundException(String.format("User with ID %d not found.", userId)));
 
-        List<ReviewDomain> reviews = userDomain.getReviews();
-
-        reviews.forEach(review -> reviewRepository.softDelete(review.getId()));
-
-        reviews.stream()
-                .map(ReviewDomain::getMovieId)
-                .distinct()
-                .forEach(movieService::refreshMovieRating);
+        List<ReviewDomain> deletedReviews = reviewRepository.softDeleteByUserId(userId);
+        movieService.removeReviewRatings(deletedReviews);
 
         userRepository.softDelete(userId);
+        tokenRevocationService.revokeUser(userId);
     }
 
     @Override
@@ -115,6 +121,7 @@ public class UserUseCaseImpl implements IUserUseCase {
         user.setPassword(passwordEncoder.encode(newPassword));
 
         userRepository.save(user);
+        tokenRevocationService.revokeUser(userId);
     }
 
     @Override
@@ -146,7 +153,8 @@ public class UserUseCaseImpl implements IUserUseCase {
             throw new ConflictException("User is already active");
         }
 
-        user.setIsActive(true);
+        // The attempts that caused a lockout no longer count once an admin unlocks the account
+        user.setIsActive(true).resetFailedLoginAttempts();
         userRepository.save(user);
     }
 
@@ -161,6 +169,7 @@ public class UserUseCaseImpl implements IUserUseCase {
 
         user.setIsActive(false);
         userRepository.save(user);
+        tokenRevocationService.revokeUser(userId);
     }
 
 }
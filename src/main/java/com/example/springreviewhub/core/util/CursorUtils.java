@@ -0,0 +1,92 @@
+package com.example.springreviewhub.core.util;
+
+import com.example.springreviewhub.core.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for encoding and decoding opaque pagination cursors.
+ * <p>
+ * A cursor is the sort key of the last item of a page (for example its ID), serialized and
+ * Base64 (URL safe) encoded so clients treat it as an opaque token instead of building it themselves.
+ * </p>
+ */
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the given sort key parts into an opaque cursor.
+     *
+     * @param parts the sort key parts of the last item of a page
+     * @return the encoded cursor
+     */
+    public static String encode(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor into its sort key parts.
+     *
+     * @param cursor        the cursor received from the client
+     * @param expectedParts the number of parts the cursor must contain
+     * @return the decoded sort key parts
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+
+            if (parts.length != expectedParts) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor made of a single numeric ID.
+     *
+     * @param cursor the cursor received from the client
+     * @return the decoded ID
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static Long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Resolves the page size requested by a client.
+     *
+     * @param limit        the requested page size, or null if the client did not request one
+     * @param defaultLimit the page size used when none is requested
+     * @param maxLimit     the largest page size served, larger requests are capped to it
+     * @return the page size to read
+     * @throws BadRequestException if the requested page size is below 1
+     */
+    public static int pageLimit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+
+        return Math.min(limit, maxLimit);
+    }
+}
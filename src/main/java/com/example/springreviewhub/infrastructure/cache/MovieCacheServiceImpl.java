@@ -0,0 +1,213 @@
+package com.example.springreviewhub.infrastructure.cache;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.core.interfaces.services.IMovieCacheService;
+import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import com.example.springreviewhub.infrastructure.util.TransactionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-tier implementation of the movie detail cache.
+ * <p>
+ * Movies are stored as JSON strings under {@code movie-detail:{id}:{role}:{reviews|plain}} in Redis
+ * with a configurable TTL, and the hottest entries are also kept in a Caffeine cache in front of it
+ * (W-TinyLFU eviction, weighted by the length of the JSON, with a shorter TTL), which saves the network
+ * round trip. Evictions are published on a Redis channel so that every node drops its local copy.
+ * </p>
+ * <p>
+ * An eviction also leaves a short-lived tombstone for the movie, in Redis and locally, during which puts of
+ * that movie are skipped. A reader that loaded the movie before a write committed therefore cannot put the
+ * old state back after the eviction, as long as its load took less than the tombstone TTL.
+ * </p>
+ * <p>
+ * The cache is best effort: if Redis is unavailable or an entry cannot be read, the lookup is treated
+ * as a miss and the caller falls back to the database. A node that misses an invalidation message
+ * serves the stale entry at most until the local TTL expires.
+ * </p>
+ */
+@Service
+public class MovieCacheServiceImpl implements IMovieCacheService {
+
+    private static final String KEY_FORMAT = "movie-detail:%d:%s:%s";
+
+    private static final String TOMBSTONE_KEY_FORMAT = "movie-detail:%d:evicted";
+
+    private static final String INVALIDATION_CHANNEL = "movie-detail:invalidations";
+
+    private final IRedisService redisService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration ttl;
+
+    private final Duration tombstoneTtl;
+
+    private final Cache<String, String> localCache;
+
+    // Movies evicted within the tombstone TTL, which must not be put back locally
+    private final Cache<Long, Boolean> localTombstones;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    @Autowired
+    public MovieCacheServiceImpl(
+            IRedisService redisService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${cache.movie.ttl:10m}") Duration ttl,
+            @Value("${cache.movie.tombstone-ttl:5s}") Duration tombstoneTtl,
+            @Value("${cache.movie.local.max-size:32MB}") DataSize localMaxSize,
+            @Value("${cache.movie.local.ttl:1m}") Duration localTtl
+    ) {
+        this.redisService = redisService;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.tombstoneTtl = tombstoneTtl;
+
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(localMaxSize.toBytes())
+                // Strings are UTF-16 in the worst case, the key is negligible next to the JSON
+                .weigher((String key, String json) -> json.length() * 2)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "movie-detail-local");
+        this.localTombstones = Caffeine.newBuilder()
+                .expireAfterWrite(tombstoneTtl)
+                .build();
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(INVALIDATION_CHANNEL)
+        );
+
+        this.hits = Counter.builder("movie.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("movie.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("movie.cache.evictions").register(meterRegistry);
+    }
+
+    @Override
+    public Optional<MovieDomain> get(Long movieId, String role, boolean includeReviews) {
+        String key = key(movieId, role, includeReviews);
+
+        try {
+            // Every caller gets its own deserialized copy, so cached entries can never be mutated
+            String json = localCache.getIfPresent(key);
+            if (json == null) {
+                json = redisService.get(key);
+                if (json != null) {
+                    localCache.put(key, json);
+                }
+            }
+
+            if (json != null) {
+                MovieDomain movie = objectMapper.readValue(json, MovieDomain.class);
+                hits.increment();
+                return Optional.of(movie);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            // Fall through to a miss, the database is the source of truth
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String role, boolean includeReviews, MovieDomain movie) {
+        Long movieId = movie.getId();
+        if (localTombstones.getIfPresent(movieId) != null) {
+            return;
+        }
+
+        try {
+            String key = key(movieId, role, includeReviews);
+            String json = objectMapper.writeValueAsString(movie);
+            if (!redisService.setUnlessGuarded(
+                    key, json, ttl.toMillis(), TimeUnit.MILLISECONDS, tombstoneKey(movieId))) {
+                return;
+            }
+
+            localCache.put(key, json);
+            // The invalidation of an eviction that raced with this put may have been received in between
+            if (localTombstones.getIfPresent(movieId) != null) {
+                localCache.invalidate(key);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            // Not caching is always safe
+        }
+    }
+
+    @Override
+    public void evict(Long movieId) {
+        TransactionUtils.runAfterCommit(() -> {
+            localTombstones.put(movieId, Boolean.TRUE);
+            List<String> keys = keys(movieId);
+            localCache.invalidateAll(keys);
+
+            try {
+                // The tombstone goes first, so no put can land between the delete and the tombstone
+                redisService.set(tombstoneKey(movieId), "1", tombstoneTtl.toMillis(), TimeUnit.MILLISECONDS);
+                redisService.del(keys);
+                redisService.publish(INVALIDATION_CHANNEL, movieId.toString());
+                evictions.increment();
+            } catch (DataAccessException e) {
+                // The write is already committed; a stale entry can only live until its TTL expires
+            }
+        });
+    }
+
+    private void invalidateLocal(String movieId) {
+        try {
+            Long id = Long.valueOf(movieId);
+            localTombstones.put(id, Boolean.TRUE);
+            localCache.invalidateAll(keys(id));
+        } catch (NumberFormatException e) {
+            // Not one of ours, nothing to invalidate
+        }
+    }
+
+    private static List<String> keys(Long movieId) {
+        List<String> keys = new ArrayList<>();
+        for (Role role : Role.values()) {
+            keys.add(key(movieId, role.name(), true));
+            keys.add(key(movieId, role.name(), false));
+        }
+
+        return keys;
+    }
+
+    private static String tombstoneKey(Long movieId) {
+        return String.format(TOMBSTONE_KEY_FORMAT, movieId);
+    }
+
+    private static String key(Long movieId, String role, boolean includeReviews) {
+        return String.format(KEY_FORMAT, movieId, role, includeReviews ? "reviews" : "plain");
+    }
+}
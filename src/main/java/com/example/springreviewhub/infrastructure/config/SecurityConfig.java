@@ -1,32 +1,51 @@
 package com.example.springreviewhub.infrastructure.config;
 
+import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import com.example.springreviewhub.infrastructure.security.BoundedPasswordEncoder;
+import com.example.springreviewhub.infrastructure.security.CalibratedBCryptPasswordEncoder;
 import com.example.springreviewhub.infrastructure.security.CustomAuthenticationEntryPoint;
 import com.example.springreviewhub.infrastructure.security.JWTAuthenticationFilter;
 import com.example.springreviewhub.infrastructure.security.CustomAccessDeniedHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
+    // Cost factor calibrated by the first node of the deployment, used by all the others
+    private static final String PASSWORD_HASH_COST_KEY = "password-hash:cost";
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JWTAuthenticationFilter jwtFilter,
                                                    CustomAccessDeniedHandler accessDeniedHandler,
                                                    CustomAuthenticationEntryPoint authenticationEntryPoint) throws Exception {
         http.csrf().disable()
                 .authorizeRequests()
+                // streamed responses finish on an async dispatch of a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/api/admin/**").hasAuthority("admin")
                 .requestMatchers(HttpMethod.POST, "/api/movies").hasAuthority("admin")
                 .requestMatchers(HttpMethod.PUT, "/api/movies").hasAuthority("admin")
                 .requestMatchers(HttpMethod.DELETE, "/api/movies").hasAuthority("admin")
+                .requestMatchers(HttpMethod.POST, "/api/reviews/batch").hasAuthority("admin")
                 .requestMatchers(HttpMethod.POST, "/api/reviews").hasAuthority("reviewer")
                 .requestMatchers(HttpMethod.PUT, "/api/reviews/**").hasAuthority("reviewer")
                 .requestMatchers(HttpMethod.DELETE, "/api/reviews/**").hasAuthority("reviewer")
@@ -47,9 +66,50 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    // PasswordEncoder untuk hashing password
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // PasswordEncoder untuk hashing password, on its own bounded pool so it cannot starve the request threads
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            IRedisService redisService,
+            @Value("${password.hash.threads:0}") int threads,
+            @Value("${password.hash.queue-capacity:100}") int queueCapacity,
+            @Value("${password.hash.max-wait:5s}") Duration maxWait,
+            @Value("${password.hash.retry-after:5s}") Duration retryAfter,
+            @Value("${password.hash.cost:0}") int cost,
+            @Value("${password.hash.min-cost:10}") int minCost,
+            @Value("${password.hash.max-cost:16}") int maxCost,
+            @Value("${password.hash.target-latency:250ms}") Duration targetLatency
+    ) {
+        // 0 leaves half of the cores to the rest of the application
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        // 0 uses the cost the first node of the deployment calibrated for its hardware
+        CalibratedBCryptPasswordEncoder bcrypt = cost > 0
+                ? new CalibratedBCryptPasswordEncoder(cost)
+                : sharedCostEncoder(redisService, minCost, maxCost, targetLatency);
+
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, maxWait, retryAfter, meterRegistry);
+    }
+
+    private static CalibratedBCryptPasswordEncoder sharedCostEncoder(
+            IRedisService redisService, int minCost, int maxCost, Duration targetLatency) {
+        try {
+            String sharedCost = redisService.get(PASSWORD_HASH_COST_KEY);
+            if (sharedCost == null) {
+                int calibratedCost = CalibratedBCryptPasswordEncoder.calibrate(minCost, maxCost, targetLatency);
+                // Another node may have stored its cost first, which then wins
+                redisService.setIfAbsent(PASSWORD_HASH_COST_KEY, String.valueOf(calibratedCost), 0, TimeUnit.SECONDS);
+                sharedCost = redisService.get(PASSWORD_HASH_COST_KEY);
+            }
+
+            log.info("Using the deployment password hash cost factor {}", sharedCost);
+            return new CalibratedBCryptPasswordEncoder(Integer.parseInt(sharedCost));
+        } catch (RuntimeException e) {
+            // Hashing still works with a local cost, but existing hashes are left alone until the shared one is known
+            log.warn("Could not read the deployment password hash cost factor, "
+                    + "calibrating locally without rehashing", e);
+            return new CalibratedBCryptPasswordEncoder(
+                    CalibratedBCryptPasswordEncoder.calibrate(minCost, maxCost, targetLatency), false);
+        }
     }
 }
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Check;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,6 +23,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "movies")
+@NamedEntityGraph(name = "Movie.withReviews", attributeNodes = @NamedAttributeNode("reviews"))
 @Getter
 @Check(constraints = "rating >= 1.0 AND rating <= 10.0") // Ensures the rating is within a valid range
 @ToString
@@ -71,21 +74,47 @@ public class Movie {
 
     /**
      * The rating of the movie, between 1.0 and 10.0, inclusive.
+     * <p>
+     * The rating is derived from {@link #ratingSum} and {@link #ratingCount} by the same SQL statement that
+     * updates them, so it is never written back from the entity.
+     * </p>
      */
-    @Column( precision = 3, scale = 1) // nullable when movie has no reviews yet
+    @Column(precision = 3, scale = 1, updatable = false) // nullable when movie has no reviews yet
     @DecimalMin(value = "1.0", inclusive = true)
     @DecimalMax(value = "10.0", inclusive = true)
     private BigDecimal rating;
 
+    /**
+     * The sum of the ratings of the movie's reviews that are not deleted.
+     * <p>
+     * Only changed atomically in the database through deltas or a recompute, never written back from the entity.
+     * </p>
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
+    /**
+     * The number of the movie's reviews that are not deleted.
+     * <p>
+     * Only changed atomically in the database through deltas or a recompute, never written back from the entity.
+     * </p>
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer ratingCount = 0;
+
     /**
      * The list of reviews associated with the movie.
      * <p>
      * This field holds a collection of {@link Review} objects, each representing a review
      * written for the movie. The reviews are lazily loaded and associated with the movie
-     * via a one-to-many relationship.
+     * via a one-to-many relationship. When several movies are loaded at once, their reviews
+     * are initialized together in batches instead of one query per movie.
      * </p>
      */
     @OneToMany(mappedBy = "movie", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<Review> reviews = new ArrayList<>();
 
     /**
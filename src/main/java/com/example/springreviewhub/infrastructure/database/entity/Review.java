@@ -16,16 +16,25 @@ import java.time.LocalDateTime;
  * </p>
  */
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews") // indexes are defined by the migrations in db/migration
+@NamedEntityGraph(
+        name = "Review.withMovieAndUser",
+        attributeNodes = {@NamedAttributeNode("movie"), @NamedAttributeNode("user")}
+)
 @Getter
 @ToString
 public class Review {
 
     /**
      * Unique identifier for the review, generated automatically.
+     * <p>
+     * IDs come from a pooled sequence, 50 at a time, instead of an identity column: Hibernate has to
+     * insert an identity row immediately to learn its ID, which disables JDBC insert batching.
+     * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -45,18 +54,22 @@ public class Review {
 
     /**
      * The movie associated with the review.
-     * This is a eager-loaded relationship to the Movie entity.
+     * This is a lazy-loaded relationship to the Movie entity; queries that need it fetch it
+     * through the {@code Review.withMovieAndUser} entity graph. Nothing is cascaded: saving a
+     * review never writes the movie.
      */
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id", referencedColumnName = "id")
 //    @ToString.Exclude
     private Movie movie;
 
     /**
      * The user associated with the review.
-     * This is a eager-loaded relationship to the User entity.
+     * This is a lazy-loaded relationship to the User entity; queries that need it fetch it
+     * through the {@code Review.withMovieAndUser} entity graph. Nothing is cascaded: saving a
+     * review never writes the user.
      */
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
 //    @ToString.Exclude
     private User user;
@@ -3,6 +3,7 @@ package com.example.springreviewhub.infrastructure.database.entity;
 import com.example.springreviewhub.core.domain.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.ColumnDefault;
 
 
@@ -23,6 +24,7 @@ import java.util.List;
 @Getter
 @ToString(exclude = "password")
 @Table(name = "users")
+@NamedEntityGraph(name = "User.withReviews", attributeNodes = @NamedAttributeNode("reviews"))
 public class User {
 
     /**
@@ -71,7 +73,8 @@ public class User {
     private LocalDateTime lastLoginAt; // Nullable
 
     /**
-     * The number of failed login attempts. Default is 0.
+     * The number of failed login attempts that locked the account. Default is 0.
+     * Attempts of active accounts are counted in Redis and only written here on lockout.
      */
     @Column(nullable = false)
     @ColumnDefault("0")
@@ -112,10 +115,12 @@ public class User {
      * <p>
      * This field holds a collection of {@link Review} objects, each representing a review
      * created by the user. The reviews are lazily loaded and associated with the user
-     * via a one-to-many relationship.
+     * via a one-to-many relationship. When several users are loaded at once, their reviews
+     * are initialized together in batches instead of one query per user.
      * </p>
      */
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<Review> reviews = new ArrayList<>();
 
     /**
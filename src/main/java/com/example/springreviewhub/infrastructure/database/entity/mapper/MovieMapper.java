@@ -2,6 +2,7 @@ package com.example.springreviewhub.infrastructure.database.entity.mapper;
 
 import com.example.springreviewhub.core.domain.MovieDomain;
 import com.example.springreviewhub.infrastructure.database.entity.Movie;
+import com.example.springreviewhub.infrastructure.database.projection.MovieView;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -83,4 +84,43 @@ public class MovieMapper {
                 .map(movie -> MovieMapper.fromEntityToDomain(movie, isPopulateReview))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Convert a `MovieView` projection to `MovieDomain`.
+     *
+     * @param movieView the MovieView projection
+     * @return the MovieDomain object, without reviews
+     *
+     * This method is used by the read-only query paths, which select movie columns straight into
+     * projections instead of loading managed `Movie` entities.
+     */
+    public static MovieDomain fromViewToDomain(MovieView movieView) {
+        if (movieView == null) {
+            return null;
+        }
+        return new MovieDomain()
+                .setId(movieView.getId())
+                .setTitle(movieView.getTitle())
+                .setDescription(movieView.getDescription())
+                .setReleaseDate(movieView.getReleaseDate())
+                .setDuration(movieView.getDuration())
+                .setGenre(movieView.getGenre())
+                .setDirector(movieView.getDirector())
+                .setRating(movieView.getRating())
+                .setCreatedAt(movieView.getCreatedAt())
+                .setUpdatedAt(movieView.getUpdatedAt())
+                .setDeletedAt(movieView.getDeletedAt());
+    }
+
+    /**
+     * Convert a list of `MovieView` projections to a list of `MovieDomain` objects.
+     *
+     * @param movieViews the list of MovieView projections
+     * @return the list of MovieDomain objects, without reviews
+     */
+    public static List<MovieDomain> fromViewListToDomList(List<MovieView> movieViews) {
+        return movieViews.stream()
+                .map(MovieMapper::fromViewToDomain)
+                .collect(Collectors.toList());
+    }
 }
@@ -2,6 +2,7 @@ package com.example.springreviewhub.infrastructure.database.entity.mapper;
 
 import com.example.springreviewhub.core.domain.ReviewDomain;
 import com.example.springreviewhub.infrastructure.database.entity.Review;
+import com.example.springreviewhub.infrastructure.database.projection.ReviewView;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -82,4 +83,41 @@ public class ReviewMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Convert a `ReviewView` projection to `ReviewDomain`.
+     *
+     * @param reviewView the ReviewView projection
+     * @return the ReviewDomain object, referencing its movie and user by ID only
+     *
+     * This method is used by the read-only query paths, which select review columns straight into
+     * projections instead of loading managed `Review` entities.
+     */
+    public static ReviewDomain fromViewToDomain(ReviewView reviewView) {
+        if (reviewView == null) {
+            return null;
+        }
+        return new ReviewDomain()
+                .setId(reviewView.getId())
+                .setText(reviewView.getText())
+                .setRating(reviewView.getRating())
+                .setMovieId(reviewView.getMovieId())
+                .setUserId(reviewView.getUserId())
+                .setCreatedAt(reviewView.getCreatedAt())
+                .setUpdatedAt(reviewView.getUpdatedAt())
+                .setDeletedAt(reviewView.getDeletedAt())
+                .setTextLength(reviewView.getTextLength());
+    }
+
+    /**
+     * Convert a list of `ReviewView` projections to a list of `ReviewDomain` objects.
+     *
+     * @param reviewViews the list of ReviewView projections
+     * @return the list of ReviewDomain objects
+     */
+    public static List<ReviewDomain> fromViewListToDomList(List<ReviewView> reviewViews) {
+        return reviewViews.stream()
+                .map(ReviewMapper::fromViewToDomain)
+                .collect(Collectors.toList());
+    }
+
 }
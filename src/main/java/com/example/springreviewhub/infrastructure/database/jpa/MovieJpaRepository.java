@@ -1,18 +1,25 @@
 package com.example.springreviewhub.infrastructure.database.jpa;
 
 import com.example.springreviewhub.infrastructure.database.entity.Movie;
-import com.example.springreviewhub.infrastructure.database.entity.Movie;
+import com.example.springreviewhub.infrastructure.database.projection.MovieView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing Movie entities in the database.
@@ -24,6 +31,62 @@ import java.util.Optional;
 @Repository
 public interface MovieJpaRepository extends JpaRepository<Movie, Long> {
 
+    /**
+     * Constructor expression selecting the columns of a movie into a {@link MovieView}.
+     */
+    String SELECT_MOVIE_VIEW = "SELECT new com.example.springreviewhub.infrastructure.database.projection.MovieView(" +
+            "m.id, m.title, m.description, m.releaseDate, m.duration, m.genre, m.director, m.rating, " +
+            "m.createdAt, m.updatedAt, m.deletedAt) FROM Movie m ";
+
+    /**
+     * Native statement applying a delta to the rating aggregates of a movie and deriving its rating from them,
+     * with the named parameters {@code id}, {@code sumDelta} and {@code countDelta}. The rating is rounded to one
+     * decimal and set to NULL once the movie has no reviews left. Only the rating refresher runs it, in the same
+     * JDBC batch transaction that updates the rating histograms.
+     */
+    String APPLY_RATING_DELTA_SQL = "UPDATE movies SET " +
+            "rating_sum = rating_sum + :sumDelta, " +
+            "rating_count = rating_count + :countDelta, " +
+            "rating = CASE WHEN rating_count + :countDelta > 0 " +
+            "THEN ROUND(CAST(rating_sum + :sumDelta AS NUMERIC) / (rating_count + :countDelta), 1) END " +
+            "WHERE id = :id";
+
+    /**
+     * Native statement applying a delta to the number of reviews of a movie with a given rating, with the
+     * named parameters {@code movieId}, {@code rating} and {@code countDelta}. Used for JDBC batches.
+     */
+    String APPLY_RATING_HISTOGRAM_DELTA_SQL = "INSERT INTO movie_rating_histograms (movie_id, rating, review_count) " +
+            "VALUES (:movieId, :rating, :countDelta) " +
+            "ON CONFLICT (movie_id, rating) DO UPDATE " +
+            "SET review_count = movie_rating_histograms.review_count + EXCLUDED.review_count";
+
+    /**
+     * Native statement recording a pending change to the number of reviews of a movie with a given rating, with
+     * the named parameters {@code movieId}, {@code rating} and {@code countDelta}. Used for JDBC batches.
+     */
+    String INSERT_RATING_DELTA_SQL = "INSERT INTO movie_rating_deltas (movie_id, rating, count_delta) " +
+            "VALUES (:movieId, :rating, :countDelta)";
+
+    /**
+     * Native query finding movies with pending rating changes, with the named parameter {@code limit}.
+     */
+    String SELECT_MOVIE_IDS_WITH_RATING_DELTAS_SQL =
+            "SELECT DISTINCT movie_id FROM movie_rating_deltas ORDER BY movie_id LIMIT :limit";
+
+    /**
+     * Native query locking the rows of the movies with the IDs {@code ids} before their pending rating changes
+     * are applied. The lock excludes other nodes applying the same changes and the rating recomputes, but not
+     * the review writes, which only insert pending changes.
+     */
+    String LOCK_MOVIES_FOR_RATING_DELTAS_SQL = "SELECT id FROM movies WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE";
+
+    /**
+     * Native statement removing and returning the pending rating changes of the movies with the IDs {@code ids},
+     * as rows of movie ID, rating and change of the number of reviews.
+     */
+    String CLAIM_RATING_DELTAS_SQL = "DELETE FROM movie_rating_deltas WHERE movie_id IN (:ids) " +
+            "RETURNING movie_id, rating, count_delta";
+
     /**
      * Performs an advanced search on movies based on various filter criteria.
      * <p>
@@ -83,16 +146,287 @@ public interface MovieJpaRepository extends JpaRepository<Movie, Long> {
     List<Movie> findAllWithRole(@Param("role") String role);
 
     /**
-     * Finds a Movie entity by their ID, but only if the Movie is either an Admin or not marked as deleted.
+     * Finds all Movie entities that have a specific role or are not marked as deleted, together with their reviews.
+     * <p>
+     * The reviews are fetched in the same query through the {@code Movie.withReviews} entity graph,
+     * instead of one additional query per movie.
+     * </p>
+     *
+     * @param role the role to filter by, such as 'Admin'
+     * @return a list of Movies matching the criteria, with their reviews initialized
+     */
+    @EntityGraph(value = "Movie.withReviews")
+    @Query("SELECT m FROM Movie m WHERE (:role = 'Admin' OR m.deletedAt IS NULL)")
+    List<Movie> findAllWithRoleAndReviews(@Param("role") String role);
+
+    /**
+     * Streams all movies that have a specific role or are not marked as deleted, ordered by ID, as read-only
+     * projections.
      * <p>
-     * This query ensures that Users who are deleted (i.e., have a non-null `deletedAt` field) are excluded,
+     * Rows are read from a server-side cursor in batches, so the result must be consumed inside a
+     * transaction and the returned stream must be closed. No entity is created, so the reviews of the movies
+     * are never loaded row by row.
+     * </p>
+     *
+     * @param role the role to filter by, such as 'Admin'
+     * @return a stream of movie projections matching the criteria
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")
+    })
+    @Query(SELECT_MOVIE_VIEW + "WHERE (:role = 'Admin' OR m.deletedAt IS NULL) ORDER BY m.id ASC")
+    Stream<MovieView> streamViewsWithRole(@Param("role") String role);
+
+    /**
+     * Finds a page of Movie entities whose ID is greater than the given ID, ordered by ID.
+     * <p>
+     * This is a keyset query: it seeks directly into the primary key index instead of skipping rows
+     * with an offset, so every page costs the same no matter how deep it is. The page size is taken
+     * from the given {@link Pageable}, which should always request the first page.
+     * </p>
+     *
+     * @param role     the role to filter by, such as 'Admin'
+     * @param afterId  the ID of the last Movie of the previous page (0 for the first page)
+     * @param pageable the page request holding the page size
+     * @return a list of Movies matching the criteria, ordered by ID
+     */
+    @Query("SELECT m FROM Movie m WHERE m.id > :afterId AND (:role = 'Admin' OR m.deletedAt IS NULL) ORDER BY m.id ASC")
+    List<Movie> findPageWithRole(@Param("role") String role, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds a page of movies whose ID is greater than the given ID, ordered by ID, as read-only projections.
+     * <p>
+     * Same keyset query as {@link #findPageWithRole(String, Long, Pageable)}, but the columns are selected
+     * straight into {@link MovieView} instances instead of managed entities.
+     * </p>
+     *
+     * @param role     the role to filter by, such as 'Admin'
+     * @param afterId  the ID of the last Movie of the previous page (0 for the first page)
+     * @param pageable the page request holding the page size
+     * @return a list of movie projections matching the criteria, ordered by ID
+     */
+    @Query(SELECT_MOVIE_VIEW + "WHERE m.id > :afterId AND (:role = 'Admin' OR m.deletedAt IS NULL) ORDER BY m.id ASC")
+    List<MovieView> findViewPageWithRole(@Param("role") String role, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the Movie entities with the given IDs, but only those visible to the given role.
+     *
+     * @param ids  the IDs of the Movies to find
+     * @param role the role to filter by, such as 'Admin'
+     * @return a list of Movies matching the criteria, in no particular order
+     */
+    @Query("SELECT m FROM Movie m WHERE m.id IN :ids AND (:role = 'Admin' OR m.deletedAt IS NULL)")
+    List<Movie> findAllByIdInWithRole(@Param("ids") List<Long> ids, @Param("role") String role);
+
+    /**
+     * Finds the movies with the given IDs as read-only projections, but only those visible to the given role.
+     *
+     * @param ids  the IDs of the movies to find
+     * @param role the role to filter by, such as 'Admin'
+     * @return a list of movie projections matching the criteria, in no particular order
+     */
+    @Query(SELECT_MOVIE_VIEW + "WHERE m.id IN :ids AND (:role = 'Admin' OR m.deletedAt IS NULL)")
+    List<MovieView> findViewsByIdInWithRole(@Param("ids") List<Long> ids, @Param("role") String role);
+
+    /**
+     * Finds a movie by its ID as a read-only projection, but only if the role is Admin or the movie is not
+     * marked as deleted.
+     * <p>
+     * This query ensures that movies which are deleted (i.e., have a non-null `deletedAt` field) are excluded,
      * unless the role provided is 'Admin'.
      * </p>
      *
+     * @param id the ID of the movie to find
+     * @param role the role to filter by, such as 'Admin'
+     * @return an Optional containing the movie projection if found, or empty if no movie matches the criteria
+     */
+    @Query(SELECT_MOVIE_VIEW + "WHERE m.id = :id AND (:role = 'Admin' OR m.deletedAt IS NULL)")
+    Optional<MovieView> findViewByIdWithRole(@Param("id") Long id, @Param("role") String role);
+
+    /**
+     * Finds a movie by its ID as a read-only projection.
+     *
+     * @param id the ID of the movie to find
+     * @return an Optional containing the movie projection if found, or empty otherwise
+     */
+    @Query(SELECT_MOVIE_VIEW + "WHERE m.id = :id")
+    Optional<MovieView> findViewById(@Param("id") Long id);
+
+    /**
+     * Locks the rows of the given movies before their rating aggregates are recomputed, in ID order.
+     * <p>
+     * The lock waits for the rating refreshers applying pending changes to these movies, and keeps them out
+     * until the transaction ends. It is a {@code FOR NO KEY UPDATE} lock, which does not conflict with the
+     * {@code FOR KEY SHARE} lock the foreign keys of {@code reviews} and {@code movie_rating_deltas} take, so
+     * review writes on these movies are not blocked.
+     * </p>
+     *
+     * @param ids the IDs of the movies to lock
+     * @return the IDs of the locked movies
+     */
+    @Query(value = "SELECT id FROM movies WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockForRatingRecompute(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recomputes the rating aggregates and the rating of the given movies from their reviews that are not deleted.
+     * <p>
+     * The rating changes still pending in {@code movie_rating_deltas} are subtracted, since the rating refresher
+     * adds them later. The reviews and the pending changes are read by the same statement, hence from the same
+     * snapshot, in which a review write and its pending change are either both visible or both not. The movies
+     * must be locked first with {@link #lockForRatingRecompute(Collection)}.
+     * </p>
+     *
+     * @param ids the IDs of the movies to recompute
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE movies m SET " +
+            "rating_sum = s.rating_sum, " +
+            "rating_count = s.rating_count, " +
+            "rating = CASE WHEN s.rating_count > 0 THEN ROUND(CAST(s.rating_sum AS NUMERIC) / s.rating_count, 1) END " +
+            "FROM (SELECT mv.id, " +
+            "COALESCE(rv.rating_sum, 0) - COALESCE(pd.rating_sum, 0) AS rating_sum, " +
+            "COALESCE(rv.rating_count, 0) - COALESCE(pd.rating_count, 0) AS rating_count " +
+            "FROM movies mv " +
+            "LEFT JOIN (SELECT r.movie_id, SUM(r.rating) AS rating_sum, COUNT(*) AS rating_count " +
+            "FROM reviews r WHERE r.deleted_at IS NULL AND r.movie_id IN (:ids) GROUP BY r.movie_id) rv " +
+            "ON rv.movie_id = mv.id " +
+            "LEFT JOIN (SELECT d.movie_id, SUM(d.rating * d.count_delta) AS rating_sum, " +
+            "SUM(d.count_delta) AS rating_count " +
+            "FROM movie_rating_deltas d WHERE d.movie_id IN (:ids) GROUP BY d.movie_id) pd " +
+            "ON pd.movie_id = mv.id " +
+            "WHERE mv.id IN (:ids)) s " +
+            "WHERE m.id = s.id", nativeQuery = true)
+    int recomputeRatings(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs of the movies whose stored rating aggregates, together with their pending rating changes,
+     * do not match their reviews that are not deleted, or whose rating does not match the stored aggregates.
+     * <p>
+     * The movies are not locked, so a movie whose pending changes are being applied may be reported as well;
+     * recomputing it is harmless.
+     * </p>
+     *
+     * @return the IDs of the movies to recompute
+     */
+    @Query(value = "SELECT m.id FROM movies m " +
+            "LEFT JOIN (SELECT r.movie_id, SUM(r.rating) AS rating_sum, COUNT(*) AS rating_count " +
+            "FROM reviews r WHERE r.deleted_at IS NULL GROUP BY r.movie_id) s ON s.movie_id = m.id " +
+            "LEFT JOIN (SELECT d.movie_id, SUM(d.rating * d.count_delta) AS rating_sum, " +
+            "SUM(d.count_delta) AS rating_count " +
+            "FROM movie_rating_deltas d GROUP BY d.movie_id) p ON p.movie_id = m.id " +
+            "WHERE m.rating_sum + COALESCE(p.rating_sum, 0) <> COALESCE(s.rating_sum, 0) " +
+            "OR m.rating_count + COALESCE(p.rating_count, 0) <> COALESCE(s.rating_count, 0) " +
+            "OR m.rating IS DISTINCT FROM " +
+            "CASE WHEN m.rating_count > 0 THEN ROUND(CAST(m.rating_sum AS NUMERIC) / m.rating_count, 1) END",
+            nativeQuery = true)
+    List<Long> findIdsWithRatingDrift();
+
+    /**
+     * Finds which of the given Movie IDs belong to Movies that are not marked as deleted.
+     *
+     * @param ids the IDs of the Movies to check
+     * @return the IDs of the Movies that exist and are not deleted
+     */
+    @Query("SELECT m.id FROM Movie m WHERE m.id IN :ids AND m.deletedAt IS NULL")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the ratings of the given movies.
+     *
+     * @param ids the IDs of the movies
+     * @return pairs of movie ID and rating (NULL when the movie has no reviews)
+     */
+    @Query("SELECT m.id, m.rating FROM Movie m WHERE m.id IN :ids")
+    List<Object[]> findRatingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds a Movie entity by its ID, together with its reviews.
+     *
+     * @param id the ID of the Movie to find
+     * @return an Optional containing the Movie with its reviews initialized, or empty if not found
+     */
+    @EntityGraph(value = "Movie.withReviews")
+    @Query("SELECT m FROM Movie m WHERE m.id = :id")
+    Optional<Movie> findByIdWithReviews(@Param("id") Long id);
+
+    /**
+     * Finds a Movie entity by its ID together with its reviews, but only if the role is Admin or the Movie
+     * is not marked as deleted.
+     *
      * @param id the ID of the Movie to find
      * @param role the role to filter by, such as 'Admin'
-     * @return an Optional containing the Movie if found, or empty if no Movie matches the criteria
+     * @return an Optional containing the Movie with its reviews initialized, or empty if no Movie matches the criteria
      */
+    @EntityGraph(value = "Movie.withReviews")
     @Query("SELECT m FROM Movie m WHERE m.id = :id AND (:role = 'Admin' OR m.deletedAt IS NULL)")
-    Optional<Movie> findByIdWithRole(@Param("id") Long id, @Param("role") String role);
+    Optional<Movie> findByIdWithRoleAndReviews(@Param("id") Long id, @Param("role") String role);
+
+    /**
+     * Finds the rating histogram of a movie, but only if the role is Admin or the Movie is not marked as deleted.
+     * <p>
+     * The movie is outer joined, so a movie without reviews yields a single row whose rating is NULL, and a
+     * movie that does not match yields no rows at all.
+     * </p>
+     *
+     * @param id   the ID of the Movie
+     * @param role the role to filter by, such as 'Admin'
+     * @return triples of movie ID, rating and number of reviews with that rating
+     */
+    @Query(value = "SELECT m.id, h.rating, h.review_count FROM movies m " +
+            "LEFT JOIN movie_rating_histograms h ON h.movie_id = m.id " +
+            "WHERE m.id = :id AND (:role = 'Admin' OR m.deleted_at IS NULL)", nativeQuery = true)
+    List<Object[]> findRatingHistogramWithRole(@Param("id") Long id, @Param("role") String role);
+
+    /**
+     * Finds the highest Movie ID, including deleted Movies.
+     *
+     * @return the highest ID, or null if there are no Movies
+     */
+    @Query("SELECT MAX(m.id) FROM Movie m")
+    Long findMaxId();
+
+    /**
+     * Locks the rows of the movies in a range of IDs before their rating histograms are rebuilt, like
+     * {@link #lockForRatingRecompute(Collection)}.
+     *
+     * @param fromId the lowest movie ID of the range, inclusive
+     * @param toId   the highest movie ID of the range, inclusive
+     * @return the IDs of the locked movies
+     */
+    @Query(value = "SELECT id FROM movies WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR NO KEY UPDATE",
+            nativeQuery = true)
+    List<Long> lockForRatingHistogramRebuild(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Deletes the rating histograms of the movies in a range of IDs.
+     *
+     * @param fromId the lowest movie ID of the range, inclusive
+     * @param toId   the highest movie ID of the range, inclusive
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM movie_rating_histograms WHERE movie_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int deleteRatingHistogramsBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Computes the rating histograms of the movies in a range of IDs from their reviews that are not deleted,
+     * minus the rating changes still pending in {@code movie_rating_deltas}, like
+     * {@link #recomputeRatings(Collection)}. The movies must be locked and their existing histograms deleted
+     * first.
+     *
+     * @param fromId the lowest movie ID of the range, inclusive
+     * @param toId   the highest movie ID of the range, inclusive
+     * @return the number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO movie_rating_histograms (movie_id, rating, review_count) " +
+            "SELECT c.movie_id, c.rating, SUM(c.review_count) FROM (" +
+            "SELECT r.movie_id, r.rating, 1 AS review_count FROM reviews r " +
+            "WHERE r.movie_id BETWEEN :fromId AND :toId AND r.deleted_at IS NULL " +
+            "UNION ALL " +
+            "SELECT d.movie_id, d.rating, -d.count_delta FROM movie_rating_deltas d " +
+            "WHERE d.movie_id BETWEEN :fromId AND :toId) c " +
+            "GROUP BY c.movie_id, c.rating HAVING SUM(c.review_count) <> 0", nativeQuery = true)
+    int insertRatingHistogramsBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -1,14 +1,22 @@
 package com.example.springreviewhub.infrastructure.database.jpa;
 
 import com.example.springreviewhub.infrastructure.database.entity.Review;
+import com.example.springreviewhub.infrastructure.database.projection.ReviewView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Review entities in the database.
@@ -20,33 +28,133 @@ import java.util.Optional;
 public interface ReviewJpaRepository extends JpaRepository<Review, Long> {
 
     /**
-     * Retrieves all Review entities based on the user's role.
+     * Native statement inserting many reviews at once, with five positional parameters: the texts
+     * ({@code text[]}), ratings ({@code integer[]}), movie IDs ({@code bigint[]}) and user IDs ({@code bigint[]})
+     * of the reviews, in the same order, and their creation time, also used as update time. A review whose
+     * author already has a review for the movie that is not deleted, including one inserted concurrently, is
+     * skipped instead of failing the statement. Returns the ID, movie ID and user ID of every inserted review.
+     */
+    String INSERT_REVIEWS_IF_ABSENT_SQL =
+            "INSERT INTO reviews (id, text, rating, movie_id, user_id, created_at, updated_at) " +
+            "SELECT nextval('reviews_seq'), v.text, v.rating, v.movie_id, v.user_id, t.created_at, t.created_at " +
+            "FROM unnest(CAST(? AS text[]), CAST(? AS integer[]), CAST(? AS bigint[]), CAST(? AS bigint[])) " +
+            "AS v(text, rating, movie_id, user_id) " +
+            "CROSS JOIN (SELECT CAST(? AS timestamp) AS created_at) t " +
+            "ON CONFLICT (user_id, movie_id) WHERE deleted_at IS NULL DO NOTHING " +
+            "RETURNING id, movie_id, user_id";
+
+    /**
+     * Constructor expression selecting the columns of a review into a {@link ReviewView}.
+     */
+    String SELECT_REVIEW_VIEW = "SELECT new com.example.springreviewhub.infrastructure.database.projection.ReviewView(" +
+            "r.id, r.text, r.rating, r.movie.id, r.user.id, r.createdAt, r.updatedAt, r.deletedAt) FROM Review r ";
+
+    /**
+     * Constructor expression selecting the columns of a review into a {@link ReviewView}, with only the first
+     * {@code :excerptLength} characters of the text and the length of the full text. The rest of the text is
+     * never sent by the database.
+     */
+    String SELECT_REVIEW_EXCERPT_VIEW = "SELECT new com.example.springreviewhub.infrastructure.database.projection.ReviewView(" +
+            "r.id, SUBSTRING(r.text, 1, :excerptLength), r.rating, r.movie.id, r.user.id, " +
+            "r.createdAt, r.updatedAt, r.deletedAt, LENGTH(r.text)) FROM Review r ";
+
+    /**
+     * Retrieves all Review entities together with their movie and user.
+     *
+     * @return a list of all Review entities, with their movie and user initialized
+     */
+    @Override
+    @EntityGraph(value = "Review.withMovieAndUser")
+    List<Review> findAll();
+
+    /**
+     * Finds a Review by its ID together with its movie and user.
+     * <p>
+     * The write paths update the review through its movie and user, so both are fetched
+     * in the same query through the {@code Review.withMovieAndUser} entity graph.
+     * </p>
+     *
+     * @param id the ID of the Review
+     * @return an Optional containing the Review if found, or empty otherwise
+     */
+    @Override
+    @EntityGraph(value = "Review.withMovieAndUser")
+    Optional<Review> findById(Long id);
+
+    /**
+     * Retrieves all reviews based on the user's role, as read-only projections.
      * <p>
      * If the role is 'Admin', all reviews are returned, regardless of their `deletedAt` status.
      * Otherwise, only reviews that are not marked as deleted (`deletedAt` is NULL) will be included.
      * </p>
      *
-     * @param role the user's role, such as 'Admin'
-     * @return a list of Review entities that match the specified criteria
+     * @param role          the user's role, such as 'Admin'
+     * @param excerptLength the maximum number of characters of the text to read
+     * @return a list of review projections that match the specified criteria
      */
-    @Query("SELECT r FROM Review r WHERE (:role = 'Admin' OR r.deletedAt IS NULL)")
-    List<Review> findAllWithRole(@Param("role") String role);
+    @Query(SELECT_REVIEW_EXCERPT_VIEW + "WHERE (:role = 'Admin' OR r.deletedAt IS NULL)")
+    List<ReviewView> findAllWithRole(@Param("role") String role, @Param("excerptLength") int excerptLength);
 
     /**
-     * Checks whether a Review exists for a specific user and movie combination.
+     * Streams all reviews based on the user's role, ordered by ID, as read-only projections.
      * <p>
-     * This query is used to determine if a user has already provided a review for a given movie.
+     * Rows are read from a server-side cursor in batches, so the result must be consumed inside a
+     * transaction and the returned stream must be closed.
      * </p>
      *
-     * @param userId  the ID of the user
-     * @param movieId the ID of the movie
-     * @return true if a matching Review exists, false otherwise
+     * @param role          the user's role, such as 'Admin'
+     * @param excerptLength the maximum number of characters of the text to read
+     * @return a stream of review projections that match the specified criteria
      */
-    @Query("SELECT COUNT(r) > 0 FROM Review r WHERE r.user.id = :userId AND r.movie.id = :movieId AND r.deletedAt IS NULL")
-    boolean existsByUserIdAndMovieId(@Param("userId") Long userId, @Param("movieId") Long movieId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")
+    })
+    @Query(SELECT_REVIEW_EXCERPT_VIEW + "WHERE (:role = 'Admin' OR r.deletedAt IS NULL) ORDER BY r.id ASC")
+    Stream<ReviewView> streamAllWithRole(@Param("role") String role, @Param("excerptLength") int excerptLength);
 
     /**
-     * Finds a specific Review by its ID, taking the user's role into account.
+     * Streams all reviews, including deleted ones, ordered by ID, as read-only projections with their full text.
+     * <p>
+     * Rows are read from a server-side cursor in batches, so the result must be consumed inside a
+     * transaction and the returned stream must be closed.
+     * </p>
+     *
+     * @return a stream of all review projections
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+    })
+    @Query(SELECT_REVIEW_VIEW + "ORDER BY r.id ASC")
+    Stream<ReviewView> streamAll();
+
+    /**
+     * Retrieves all the reviews of several movies, including deleted ones, ordered by ID, as read-only
+     * projections with their full text.
+     * <p>
+     * Used to attach the reviews to a batch of streamed movies with one keyed query instead of one per movie.
+     * </p>
+     *
+     * @param movieIds the IDs of the movies
+     * @return the review projections of the movies
+     */
+    @Query(SELECT_REVIEW_VIEW + "WHERE r.movie.id IN :movieIds ORDER BY r.id ASC")
+    List<ReviewView> findViewsByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    /**
+     * Retrieves all the reviews of several users, including deleted ones, ordered by ID, as read-only
+     * projections with their full text.
+     * <p>
+     * Used to attach the reviews to a batch of streamed users with one keyed query instead of one per user.
+     * </p>
+     *
+     * @param userIds the IDs of the users
+     * @return the review projections of the users
+     */
+    @Query(SELECT_REVIEW_VIEW + "WHERE r.user.id IN :userIds ORDER BY r.id ASC")
+    List<ReviewView> findViewsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Finds a specific review by its ID as a read-only projection, taking the user's role into account.
      * <p>
      * If the role is 'Admin', the query ignores the `deletedAt` field.
      * For other roles, only reviews that are not marked as deleted are returned.
@@ -54,38 +162,106 @@ public interface ReviewJpaRepository extends JpaRepository<Review, Long> {
      *
      * @param id   the ID of the Review
      * @param role the user's role, such as 'Admin'
-     * @return an Optional containing the Review if found, or empty otherwise
+     * @return an Optional containing the review projection if found, or empty otherwise
      */
-    @Query("SELECT r FROM Review r WHERE r.id = :id AND (:role = 'Admin' OR r.deletedAt IS NULL)")
-    Optional<Review> findByIdWithRole(@Param("id") Long id, @Param("role") String role);
+    @Query(SELECT_REVIEW_VIEW + "WHERE r.id = :id AND (:role = 'Admin' OR r.deletedAt IS NULL)")
+    Optional<ReviewView> findByIdWithRole(@Param("id") Long id, @Param("role") String role);
 
     /**
-     * Retrieves all Reviews associated with a specific movie, filtered by user role.
+     * Retrieves the first page of the reviews of a specific movie as read-only projections, newest first,
+     * filtered by user role.
      * <p>
      * If the role is 'Admin', all reviews for the movie are included.
      * For other roles, only reviews that are not marked as deleted will be returned.
+     * The rows are read in index order from {@code idx_reviews_movie_created}.
      * </p>
      *
-     * @param movieId the ID of the movie
-     * @param role    the user's role, such as 'Admin'
-     * @return a list of Review entities matching the criteria
+     * @param movieId       the ID of the movie
+     * @param role          the user's role, such as 'Admin'
+     * @param excerptLength the maximum number of characters of the text to read
+     * @param pageable      the page request holding the page size
+     * @return a list of review projections matching the criteria, ordered by creation time and ID, descending
      */
-    @Query("SELECT r FROM Review r WHERE r.movie.id = :movieId AND (:role = 'Admin' OR r.deletedAt IS NULL)")
-    List<Review> findByMovieIdWithRole(@Param("movieId") Long movieId, @Param("role") String role);
+    @Query(SELECT_REVIEW_EXCERPT_VIEW + "WHERE r.movie.id = :movieId AND (:role = 'Admin' OR r.deletedAt IS NULL) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findFirstPageByMovieIdWithRole(
+            @Param("movieId") Long movieId,
+            @Param("role") String role,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable);
 
     /**
-     * Retrieves all Reviews submitted by a specific user, filtered by their role.
+     * Retrieves the page of the reviews of a specific movie that follows the given review, newest first,
+     * filtered by user role.
+     * <p>
+     * This is a keyset query on {@code (createdAt, id)}: it seeks directly to the position of the last review
+     * of the previous page instead of skipping rows with an offset.
+     * </p>
+     *
+     * @param movieId        the ID of the movie
+     * @param role           the user's role, such as 'Admin'
+     * @param afterCreatedAt the creation time of the last review of the previous page
+     * @param afterId        the ID of the last review of the previous page
+     * @param excerptLength  the maximum number of characters of the text to read
+     * @param pageable       the page request holding the page size
+     * @return a list of review projections matching the criteria, ordered by creation time and ID, descending
+     */
+    @Query(SELECT_REVIEW_EXCERPT_VIEW + "WHERE r.movie.id = :movieId AND (:role = 'Admin' OR r.deletedAt IS NULL) " +
+            "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findPageByMovieIdWithRole(
+            @Param("movieId") Long movieId,
+            @Param("role") String role,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable);
+
+    /**
+     * Retrieves the first page of the reviews submitted by a specific user as read-only projections, newest first,
+     * filtered by user role.
      * <p>
      * If the role is 'Admin', all reviews from the user are included.
      * For other roles, only reviews that are not marked as deleted will be returned.
+     * The rows are read in index order from {@code idx_reviews_user_created}.
      * </p>
      *
-     * @param userId the ID of the user
-     * @param role   the user's role, such as 'Admin'
-     * @return a list of Review entities matching the criteria
+     * @param userId        the ID of the user
+     * @param role          the user's role, such as 'Admin'
+     * @param excerptLength the maximum number of characters of the text to read
+     * @param pageable      the page request holding the page size
+     * @return a list of review projections matching the criteria, ordered by creation time and ID, descending
      */
-    @Query("SELECT r FROM Review r WHERE r.user.id = :userId AND (:role = 'Admin' OR r.deletedAt IS NULL)")
-    List<Review> findByUserIdWithRole(@Param("userId") Long userId, @Param("role") String role);
+    @Query(SELECT_REVIEW_EXCERPT_VIEW + "WHERE r.user.id = :userId AND (:role = 'Admin' OR r.deletedAt IS NULL) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findFirstPageByUserIdWithRole(
+            @Param("userId") Long userId,
+            @Param("role") String role,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable);
+
+    /**
+     * Retrieves the page of the reviews submitted by a specific user that follows the given review, newest first,
+     * filtered by user role.
+     *
+     * @param userId         the ID of the user
+     * @param role           the user's role, such as 'Admin'
+     * @param afterCreatedAt the creation time of the last review of the previous page
+     * @param afterId        the ID of the last review of the previous page
+     * @param excerptLength  the maximum number of characters of the text to read
+     * @param pageable       the page request holding the page size
+     * @return a list of review projections matching the criteria, ordered by creation time and ID, descending
+     */
+    @Query(SELECT_REVIEW_EXCERPT_VIEW + "WHERE r.user.id = :userId AND (:role = 'Admin' OR r.deletedAt IS NULL) " +
+            "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findPageByUserIdWithRole(
+            @Param("userId") Long userId,
+            @Param("role") String role,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            @Param("excerptLength") int excerptLength,
+            Pageable pageable);
 
     /**
      * Finds a Review by the userId and movieId.
@@ -97,6 +273,7 @@ public interface ReviewJpaRepository extends JpaRepository<Review, Long> {
      * @param movieId the ID of the movie
      * @return an Optional containing the Review if found, or empty if not found
      */
+    @EntityGraph(value = "Review.withMovieAndUser")
     @Query("SELECT r FROM Review r WHERE r.user.id = :userId AND r.movie.id = :movieId AND r.deletedAt IS NULL")
     Optional<Review> findByUserIdAndMovieId(@Param("userId") Long userId, @Param("movieId") Long movieId);
 
@@ -116,15 +293,111 @@ public interface ReviewJpaRepository extends JpaRepository<Review, Long> {
      * Marks a Review entity as deleted by setting the `deletedAt` field to the current timestamp.
      * <p>
      * This method performs a soft delete, ensuring the review remains in the database but is flagged as deleted.
+     * The movie ID and rating are returned by the same statement, so they are those of the deleted row.
+     * </p>
+     *
+     * @param id the ID of the Review to be soft deleted
+     * @return the movie ID and rating of the review, or no row if it does not exist or is already deleted
+     */
+    @Transactional
+    @Query(value = "UPDATE reviews SET deleted_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :id AND deleted_at IS NULL " +
+            "RETURNING movie_id, rating", nativeQuery = true)
+    List<Object[]> softDeleteReview(@Param("id") Long id);
+
+    /**
+     * Soft deletes all the reviews of a movie that are not deleted yet, in a single statement.
+     *
+     * @param movieId the ID of the movie
+     * @return pairs of movie ID and rating of the reviews that were soft deleted
+     */
+    @Transactional
+    @Query(value = "UPDATE reviews SET deleted_at = CURRENT_TIMESTAMP " +
+            "WHERE movie_id = :movieId AND deleted_at IS NULL " +
+            "RETURNING movie_id, rating", nativeQuery = true)
+    List<Object[]> softDeleteByMovieId(@Param("movieId") Long movieId);
+
+    /**
+     * Soft deletes all the reviews of a user that are not deleted yet, in a single statement.
+     *
+     * @param userId the ID of the user
+     * @return pairs of movie ID and rating of the reviews that were soft deleted
+     */
+    @Transactional
+    @Query(value = "UPDATE reviews SET deleted_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = :userId AND deleted_at IS NULL " +
+            "RETURNING movie_id, rating", nativeQuery = true)
+    List<Object[]> softDeleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Updates the text and rating of a review written by a given user, and returns the rating it replaced.
+     * <p>
+     * The review row is locked and read by the same statement that updates it, so the returned rating is the one
+     * that was actually overwritten, even when the review is updated concurrently.
      * </p>
+     *
+     * @param id        the ID of the review
+     * @param userId    the ID of the author
+     * @param text      the new text
+     * @param rating    the new rating
+     * @param updatedAt the update time
+     * @return the movie ID, previous rating and deletion time of the review, or an empty list if the user
+     * has no review with this ID
+     */
+    @Transactional
+    @Query(value = "UPDATE reviews r SET text = :text, rating = :rating, updated_at = :updatedAt " +
+            "FROM (SELECT id, rating FROM reviews WHERE id = :id AND user_id = :userId FOR UPDATE) previous " +
+            "WHERE r.id = previous.id " +
+            "RETURNING r.movie_id, previous.rating, r.deleted_at", nativeQuery = true)
+    List<Object[]> updateContentByAuthor(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("text") String text,
+            @Param("rating") Integer rating,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Inserts a review in a single statement, unless the movie or the user does not exist (or is deleted), or
+     * the user already has a review for the movie that is not deleted.
      * <p>
-     * It uses `@Modifying` and `@Transactional` annotations to indicate that this is an update operation
+     * The duplicate check is done by the database through the unique partial index on {@code (user_id, movie_id)}
+     * of the reviews that are not deleted, so concurrent inserts for the same pair cannot both succeed. The ID is
+     * taken from {@code reviews_seq} directly; the value returned by {@code nextval} is the last ID of its own
+     * block, so it never collides with the blocks handed out to the pooled generator.
      * </p>
      *
-     * @param id the ID of the Review to be soft deleted
+     * @param text      the text of the review
+     * @param rating    the rating of the review
+     * @param movieId   the ID of the reviewed movie
+     * @param userId    the ID of the author
+     * @param createdAt the creation time, also used as update time
+     * @return the ID of the inserted review, or an empty list if nothing was inserted
      */
-    @Modifying
     @Transactional
-    @Query("UPDATE Review r SET r.deletedAt = CURRENT_TIMESTAMP WHERE r.id = :id")
-    void softDeleteReview(@Param("id") Long id);
+    @Query(value = "INSERT INTO reviews (id, text, rating, movie_id, user_id, created_at, updated_at) " +
+            "SELECT nextval('reviews_seq'), :text, :rating, :movieId, :userId, :createdAt, :createdAt " +
+            "WHERE EXISTS (SELECT 1 FROM movies m WHERE m.id = :movieId AND m.deleted_at IS NULL) " +
+            "AND EXISTS (SELECT 1 FROM users u WHERE u.id = :userId AND u.deleted_at IS NULL) " +
+            "ON CONFLICT (user_id, movie_id) WHERE deleted_at IS NULL DO NOTHING " +
+            "RETURNING id", nativeQuery = true)
+    List<Long> insertIfAbsent(
+            @Param("text") String text,
+            @Param("rating") Integer rating,
+            @Param("movieId") Long movieId,
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Finds the user and movie ID pairs of the reviews that are not deleted, written by any of the given users
+     * for any of the given movies.
+     *
+     * @param userIds  the IDs of the users
+     * @param movieIds the IDs of the movies
+     * @return pairs of user ID and movie ID
+     */
+    @Query("SELECT r.user.id, r.movie.id FROM Review r " +
+            "WHERE r.user.id IN :userIds AND r.movie.id IN :movieIds AND r.deletedAt IS NULL")
+    List<Object[]> findActiveUserMovieIdPairs(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("movieIds") Collection<Long> movieIds);
 }
@@ -2,14 +2,20 @@ package com.example.springreviewhub.infrastructure.database.jpa;
 
 import com.example.springreviewhub.core.domain.Role;
 import com.example.springreviewhub.infrastructure.database.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing User entities in the database.
@@ -20,6 +26,15 @@ import java.util.Optional;
  */
 public interface UserJpaRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Native statement setting the last login time of many users at once, with two positional array
+     * parameters: the user IDs ({@code bigint[]}) and their login times ({@code timestamp[]}), in the same
+     * order. A login time older than the stored one is ignored, so late or repeated writes are harmless.
+     */
+    String APPLY_LAST_LOGINS_SQL = "UPDATE users u SET last_login_at = v.last_login_at " +
+            "FROM unnest(CAST(? AS bigint[]), CAST(? AS timestamp[])) AS v(id, last_login_at) " +
+            "WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.last_login_at)";
+
     /**
      * Finds all User entities that have a specific role or are not marked as deleted.
      * <p>
@@ -33,6 +48,37 @@ public interface UserJpaRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE (:role = 'Admin' OR u.deletedAt IS NULL)")
     List<User> findAllWithRole(@Param("role") String role);
 
+    /**
+     * Finds all User entities that have a specific role or are not marked as deleted, together with their reviews.
+     * <p>
+     * The reviews are fetched in the same query through the {@code User.withReviews} entity graph,
+     * instead of one additional query per user.
+     * </p>
+     *
+     * @param role the role to filter by, such as 'Admin'
+     * @return a list of Users matching the criteria, with their reviews initialized
+     */
+    @EntityGraph(value = "User.withReviews")
+    @Query("SELECT u FROM User u WHERE (:role = 'Admin' OR u.deletedAt IS NULL)")
+    List<User> findAllWithRoleAndReviews(@Param("role") String role);
+
+    /**
+     * Streams all User entities that have a specific role or are not marked as deleted, ordered by ID.
+     * <p>
+     * Rows are read from a server-side cursor in batches, so the result must be consumed inside a
+     * transaction and the returned stream must be closed.
+     * </p>
+     *
+     * @param role the role to filter by, such as 'Admin'
+     * @return a stream of Users matching the criteria
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u WHERE (:role = 'Admin' OR u.deletedAt IS NULL) ORDER BY u.id ASC")
+    Stream<User> streamAllWithRole(@Param("role") String role);
+
     /**
      * Finds a User entity by their ID, but only if the User is either an Admin or not marked as deleted.
      * <p>
@@ -55,6 +101,26 @@ public interface UserJpaRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Finds a User entity by their username, together with their reviews.
+     *
+     * @param username the username of the User to find
+     * @return an Optional containing the found User with their reviews initialized, or empty if no User is found
+     */
+    @EntityGraph(value = "User.withReviews")
+    @Query("SELECT u FROM User u WHERE u.username = :username")
+    Optional<User> findByUsernameWithReviews(@Param("username") String username);
+
+    /**
+     * Finds a User entity by their ID, together with their reviews.
+     *
+     * @param id the ID of the User to find
+     * @return an Optional containing the found User with their reviews initialized, or empty if no User is found
+     */
+    @EntityGraph(value = "User.withReviews")
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdWithReviews(@Param("id") Long id);
+
     /**
      * Finds a User entity by their email.
      *
@@ -76,4 +142,42 @@ public interface UserJpaRepository extends JpaRepository<User, Long> {
     @Transactional
     @Query("UPDATE User u SET u.deletedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
     void softDeleteUser(@Param("id") Long id);
+
+    /**
+     * Locks an active User account after too many failed login attempts.
+     * <p>
+     * Only the lockout columns are written, and only if the account is still active, so concurrent
+     * lockouts of the same account update the row once.
+     * </p>
+     *
+     * @param id                  the ID of the User to lock
+     * @param failedLoginAttempts the number of failed attempts that caused the lockout
+     * @return the number of updated rows, 0 if the account was already locked
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.isActive = false, u.failedLoginAttempts = :failedLoginAttempts, " +
+            "u.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE u.id = :id AND u.isActive = true")
+    int lockUser(@Param("id") Long id, @Param("failedLoginAttempts") int failedLoginAttempts);
+
+    /**
+     * Updates the password hash of a User entity, without rewriting the rest of the row.
+     *
+     * @param id       the ID of the User to update
+     * @param password the new password hash
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    void updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * Finds which of the given User IDs belong to Users that are not marked as deleted.
+     *
+     * @param ids the IDs of the Users to check
+     * @return the IDs of the Users that exist and are not deleted
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.deletedAt IS NULL")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,31 @@
+package com.example.springreviewhub.infrastructure.database.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a row of the "movies" table.
+ * <p>
+ * Instances are created directly by JPQL constructor expressions, so reading them does not create
+ * managed {@code Movie} entities and is not subject to persistence context dirty checking.
+ * </p>
+ */
+@AllArgsConstructor
+@Getter
+public class MovieView {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate releaseDate;
+    private Integer duration;
+    private String genre;
+    private String director;
+    private BigDecimal rating;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deletedAt;
+}
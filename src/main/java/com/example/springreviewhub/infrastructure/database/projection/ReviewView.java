@@ -0,0 +1,42 @@
+package com.example.springreviewhub.infrastructure.database.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a row of the "reviews" table.
+ * <p>
+ * Instances are created directly by JPQL constructor expressions, so reading them does not create
+ * managed {@code Review} entities and the movie and user are only referenced by their foreign keys.
+ * List queries only select a prefix of the text together with the length of the full text.
+ * </p>
+ */
+@AllArgsConstructor
+@Getter
+public class ReviewView {
+    private Long id;
+    private String text;
+    private Integer rating;
+    private Long movieId;
+    private Long userId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deletedAt;
+    // Length of the full text, null when the text was selected in full
+    private Integer textLength;
+
+    public ReviewView(
+            Long id,
+            String text,
+            Integer rating,
+            Long movieId,
+            Long userId,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            LocalDateTime deletedAt
+    ) {
+        this(id, text, rating, movieId, userId, createdAt, updatedAt, deletedAt, null);
+    }
+}
@@ -1,47 +1,154 @@
 package com.example.springreviewhub.infrastructure.database.repository;
 
 import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
+import com.example.springreviewhub.core.domain.ReviewDomain;
 import com.example.springreviewhub.core.interfaces.repositories.IMovieRepository;
 import com.example.springreviewhub.infrastructure.database.entity.Movie;
 import com.example.springreviewhub.infrastructure.database.entity.mapper.MovieMapper;
+import com.example.springreviewhub.infrastructure.database.entity.mapper.ReviewMapper;
 import com.example.springreviewhub.infrastructure.database.jpa.MovieJpaRepository;
+import com.example.springreviewhub.infrastructure.database.jpa.ReviewJpaRepository;
+import com.example.springreviewhub.infrastructure.database.projection.MovieView;
+import com.example.springreviewhub.infrastructure.database.projection.ReviewView;
+import com.example.springreviewhub.infrastructure.search.MovieFilterIndex;
+import com.example.springreviewhub.infrastructure.search.MovieQueryExecutor;
+import com.example.springreviewhub.infrastructure.search.MovieSearchIndex;
+import com.example.springreviewhub.infrastructure.util.TransactionUtils;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class MovieRepositoryImpl implements IMovieRepository {
 
+    // Streamed movies whose reviews are read with one query, same as the fetch size of the stream
+    private static final int STREAM_REVIEW_BATCH_SIZE = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private final MovieJpaRepository movieJpaRepository;
 
+    private final ReviewJpaRepository reviewJpaRepository;
+
+    private final MovieSearchIndex movieSearchIndex;
+
+    private final MovieFilterIndex movieFilterIndex;
+
+    private final MovieQueryExecutor movieQueryExecutor;
+
     @Autowired
-    public MovieRepositoryImpl(MovieJpaRepository movieJpaRepository) {
+    public MovieRepositoryImpl(
+            MovieJpaRepository movieJpaRepository,
+            ReviewJpaRepository reviewJpaRepository,
+            MovieSearchIndex movieSearchIndex,
+            MovieFilterIndex movieFilterIndex,
+            MovieQueryExecutor movieQueryExecutor
+    ) {
         this.movieJpaRepository = movieJpaRepository;
+        this.reviewJpaRepository = reviewJpaRepository;
+        this.movieSearchIndex = movieSearchIndex;
+        this.movieFilterIndex = movieFilterIndex;
+        this.movieQueryExecutor = movieQueryExecutor;
     }
 
     @Override
     public List<MovieDomain> findAllMoviesWithRole(String role, boolean includeReviews) {
-        List<Movie> movieEntities = movieJpaRepository.findAllWithRole(role);
+        List<Movie> movieEntities = includeReviews
+                ? movieJpaRepository.findAllWithRoleAndReviews(role)
+                : movieJpaRepository.findAllWithRole(role);
 
         return MovieMapper.fromEntityListToDomList(movieEntities, includeReviews);
     }
 
+    @Override
+    public List<MovieDomain> findMoviesPageWithRole(String role, Long afterId, int limit, boolean includeReviews) {
+        long fromId = afterId != null ? afterId : 0L;
+
+        if (!includeReviews) {
+            List<MovieView> movieViews = movieJpaRepository.findViewPageWithRole(role, fromId, PageRequest.of(0, limit));
+
+            return MovieMapper.fromViewListToDomList(movieViews);
+        }
+
+        List<Movie> movieEntities = movieJpaRepository.findPageWithRole(role, fromId, PageRequest.of(0, limit));
+
+        return MovieMapper.fromEntityListToDomList(movieEntities, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllMoviesWithRole(String role, boolean includeReviews, Consumer<MovieDomain> consumer) {
+        try (Stream<MovieView> movieViews = movieJpaRepository.streamViewsWithRole(role)) {
+            if (!includeReviews) {
+                movieViews.forEach(movie -> consumer.accept(MovieMapper.fromViewToDomain(movie)));
+                return;
+            }
+
+            List<MovieDomain> batch = new ArrayList<>(STREAM_REVIEW_BATCH_SIZE);
+            movieViews.forEach(movie -> {
+                batch.add(MovieMapper.fromViewToDomain(movie));
+                if (batch.size() == STREAM_REVIEW_BATCH_SIZE) {
+                    acceptWithReviews(batch, consumer);
+                }
+            });
+            acceptWithReviews(batch, consumer);
+        }
+    }
+
+    private void acceptWithReviews(List<MovieDomain> batch, Consumer<MovieDomain> consumer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ReviewDomain>> reviewsByMovie = new HashMap<>();
+        for (MovieDomain movie : batch) {
+            reviewsByMovie.put(movie.getId(), new ArrayList<>());
+        }
+        for (ReviewView review : reviewJpaRepository.findViewsByMovieIdIn(reviewsByMovie.keySet())) {
+            reviewsByMovie.get(review.getMovieId()).add(ReviewMapper.fromViewToDomain(review));
+        }
+
+        for (MovieDomain movie : batch) {
+            consumer.accept(movie.setReviews(reviewsByMovie.get(movie.getId())));
+        }
+        batch.clear();
+    }
+
     @Override
     public Optional<MovieDomain> findMovieById(Long id, boolean includeReviews) {
-        Optional<Movie> movieEntity = movieJpaRepository.findById(id);
+        if (!includeReviews) {
+            return movieJpaRepository.findViewById(id).map(MovieMapper::fromViewToDomain);
+        }
 
-        return movieEntity.map(movie ->  MovieMapper.fromEntityToDomain(movie, includeReviews));
+        return movieJpaRepository.findByIdWithReviews(id)
+                .map(movie -> MovieMapper.fromEntityToDomain(movie, true));
     }
 
     @Override
     public Optional<MovieDomain> findMovieByIdWithRole(Long id, String role, boolean includeReviews) {
-        Optional<Movie> movieEntity = movieJpaRepository.findByIdWithRole(id, role);
+        if (!includeReviews) {
+            return movieJpaRepository.findViewByIdWithRole(id, role).map(MovieMapper::fromViewToDomain);
+        }
 
-        return movieEntity.map(movie -> MovieMapper.fromEntityToDomain(movie, includeReviews));
+        return movieJpaRepository.findByIdWithRoleAndReviews(id, role)
+                .map(movie -> MovieMapper.fromEntityToDomain(movie, true));
     }
 
     @Override
@@ -50,7 +157,13 @@ public class MovieRepositoryImpl implements IMovieRepository {
 
         Movie savedMovie = movieJpaRepository.save(movie);
 
-        return MovieMapper.fromEntityToDomain(savedMovie, false);
+        MovieDomain savedMovieDomain = MovieMapper.fromEntityToDomain(savedMovie, false);
+        TransactionUtils.runAfterCommit(() -> {
+            movieSearchIndex.index(savedMovieDomain);
+            movieFilterIndex.index(savedMovieDomain);
+        });
+
+        return savedMovieDomain;
     }
 
     @Override
@@ -64,12 +177,17 @@ public class MovieRepositoryImpl implements IMovieRepository {
                     .setReleaseDate(movieDomain.getReleaseDate())
                     .setDuration(movieDomain.getDuration())
                     .setGenre(movieDomain.getGenre())
-                    .setDirector(movieDomain.getDirector())
-                    .setRating(movieDomain.getRating());
+                    .setDirector(movieDomain.getDirector());
 
             Movie updatedMovie = movieJpaRepository.save(movie);
 
-            return MovieMapper.fromEntityToDomain(updatedMovie, false);
+            MovieDomain updatedMovieDomain = MovieMapper.fromEntityToDomain(updatedMovie, false);
+            TransactionUtils.runAfterCommit(() -> {
+                movieSearchIndex.index(updatedMovieDomain);
+                movieFilterIndex.index(updatedMovieDomain);
+            });
+
+            return updatedMovieDomain;
         } else {
             throw new RuntimeException("Movie not found with id: " + id);
         }
@@ -78,6 +196,25 @@ public class MovieRepositoryImpl implements IMovieRepository {
     @Override
     public void softDelete(Long id) {
         movieJpaRepository.softDeleteMovie(id);
+
+        TransactionUtils.runAfterCommit(() -> {
+            movieSearchIndex.markDeleted(id);
+            movieFilterIndex.markDeleted(id);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void recomputeRatings(Collection<Long> movieIds) {
+        if (movieIds.isEmpty()) {
+            return;
+        }
+
+        // Keeps the rating refreshers from applying pending changes between the recompute and the commit
+        movieJpaRepository.lockForRatingRecompute(movieIds);
+        movieJpaRepository.recomputeRatings(movieIds);
+
+        refreshIndexedRatings(movieIds);
     }
 
     @Override
@@ -90,8 +227,65 @@ public class MovieRepositoryImpl implements IMovieRepository {
             LocalDate endDate,
             boolean includeReviews
     ) {
-        List<Movie> movieEntities = movieJpaRepository.advancedSearch(role, title, genre, minRating, startDate, endDate);
+        // Searches are answered by the in-process indexes once they are built, the database is only a fallback
+        if (!movieQueryExecutor.isReady()) {
+            List<Movie> movieEntities = movieJpaRepository.advancedSearch(role, title, genre, minRating, startDate, endDate);
 
-        return MovieMapper.fromEntityListToDomList(movieEntities, includeReviews);
+            return MovieMapper.fromEntityListToDomList(movieEntities, includeReviews);
+        }
+
+        if (!includeReviews) {
+            List<MovieView> movieViews = movieQueryExecutor.execute(role, title, genre, minRating, startDate, endDate,
+                    movieJpaRepository::findViewsByIdInWithRole, MovieView::getId);
+
+            return MovieMapper.fromViewListToDomList(movieViews);
+        }
+
+        List<Movie> movieEntities = movieQueryExecutor.execute(role, title, genre, minRating, startDate, endDate,
+                movieJpaRepository::findAllByIdInWithRole, Movie::getId);
+
+        return MovieMapper.fromEntityListToDomList(movieEntities, true);
+    }
+
+    @Override
+    public List<Long> findMovieIdsWithRatingDrift() {
+        return movieJpaRepository.findIdsWithRatingDrift();
+    }
+
+    @Override
+    public Set<Long> findActiveIdsByIdIn(Collection<Long> ids) {
+        return ids.isEmpty() ? new HashSet<>() : new HashSet<>(movieJpaRepository.findActiveIdsByIdIn(ids));
+    }
+
+    @Override
+    public Optional<RatingDistributionDomain> findRatingDistributionWithRole(Long id, String role) {
+        List<Object[]> rows = movieJpaRepository.findRatingHistogramWithRole(id, role);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long[] reviewCounts = new long[RatingDistributionDomain.MAX_RATING - RatingDistributionDomain.MIN_RATING + 1];
+        for (Object[] row : rows) {
+            // A movie without reviews comes back as a single row without rating
+            if (row[1] != null) {
+                reviewCounts[((Number) row[1]).intValue() - RatingDistributionDomain.MIN_RATING] =
+                        ((Number) row[2]).longValue();
+            }
+        }
+
+        return Optional.of(new RatingDistributionDomain(id, reviewCounts));
+    }
+
+    /**
+     * Reads the new ratings of the given movies and hands them to the filter index once the transaction commits.
+     */
+    private void refreshIndexedRatings(Collection<Long> movieIds) {
+        List<Object[]> ratings = movieJpaRepository.findRatingsByIdIn(movieIds);
+
+        TransactionUtils.runAfterCommit(() -> {
+            for (Object[] rating : ratings) {
+                movieFilterIndex.updateRating((Long) rating[0], (BigDecimal) rating[1]);
+            }
+        });
     }
 }
@@ -2,30 +2,42 @@ package com.example.springreviewhub.infrastructure.database.repository;
 
 import com.example.springreviewhub.core.domain.ReviewDomain;
 import com.example.springreviewhub.core.interfaces.repositories.IReviewRepository;
-import com.example.springreviewhub.infrastructure.database.entity.Movie;
-import com.example.springreviewhub.infrastructure.database.entity.Review;
-import com.example.springreviewhub.infrastructure.database.entity.User;
 import com.example.springreviewhub.infrastructure.database.entity.mapper.ReviewMapper;
 import com.example.springreviewhub.infrastructure.database.jpa.ReviewJpaRepository;
-import jakarta.persistence.EntityManager;
+import com.example.springreviewhub.infrastructure.database.projection.ReviewView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class ReviewRepositoryImpl implements IReviewRepository {
 
-    @Autowired
-    private EntityManager entityManager;
+    // Reviews per multi-row insert statement
+    private static final int INSERT_CHUNK_SIZE = 1000;
 
     private final ReviewJpaRepository reviewJpaRepository;
 
+    private final JdbcTemplate jdbcTemplate;
+
     @Autowired
-    public ReviewRepositoryImpl(ReviewJpaRepository reviewJpaRepository) {
+    public ReviewRepositoryImpl(ReviewJpaRepository reviewJpaRepository, JdbcTemplate jdbcTemplate) {
         this.reviewJpaRepository = reviewJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -36,30 +48,26 @@ public class ReviewRepositoryImpl implements IReviewRepository {
     }
 
     @Override
-    public List<ReviewDomain> findAllReviewsWithRole(String role) {
-        List<Review> reviewEntities = reviewJpaRepository.findAllWithRole(role);
+    public List<ReviewDomain> findAllReviewsWithRole(String role, int excerptLength) {
+        List<ReviewView> reviewViews = reviewJpaRepository.findAllWithRole(role, excerptLength);
 
-        return ReviewMapper.fromEntityListToDomList(reviewEntities, true, true);
+        return ReviewMapper.fromViewListToDomList(reviewViews);
     }
 
     @Override
-    public ReviewDomain saveReview(ReviewDomain reviewDomain) {
-        Review review = ReviewMapper.fromDomainToEntity(reviewDomain);
-
-        Movie managedMovie = entityManager.merge(review.getMovie());
-        review.setMovie(managedMovie);
-
-        User managedUser = entityManager.merge(review.getUser());
-        review.setUser(managedUser);
-
-        Review savedReview = reviewJpaRepository.save(review);
-
-        return ReviewMapper.fromEntityToDomain(savedReview, false, false);
+    @Transactional(readOnly = true)
+    public void streamAllReviewsWithRole(String role, int excerptLength, Consumer<ReviewDomain> consumer) {
+        try (Stream<ReviewView> reviewViews = reviewJpaRepository.streamAllWithRole(role, excerptLength)) {
+            reviewViews.forEach(review -> consumer.accept(ReviewMapper.fromViewToDomain(review)));
+        }
     }
 
     @Override
-    public boolean existsByUserIdAndMovieId(Long userId, Long movieId) {
-        return reviewJpaRepository.existsByUserIdAndMovieId(userId, movieId);
+    @Transactional(readOnly = true)
+    public void streamAllReviews(Consumer<ReviewDomain> consumer) {
+        try (Stream<ReviewView> reviewViews = reviewJpaRepository.streamAll()) {
+            reviewViews.forEach(review -> consumer.accept(ReviewMapper.fromViewToDomain(review)));
+        }
     }
 
     @Override
@@ -68,6 +76,23 @@ public class ReviewRepositoryImpl implements IReviewRepository {
                 .map(review -> ReviewMapper.fromEntityToDomain(review, true, true));
     }
 
+    @Override
+    public Optional<ReviewDomain> updateContentByAuthor(Long id, Long userId, String text, Integer rating) {
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Object[]> rows = reviewJpaRepository.updateContentByAuthor(id, userId, text, rating, updatedAt);
+
+        return rows.stream()
+                .findFirst()
+                .map(row -> new ReviewDomain()
+                        .setMovieId(((Number) row[0]).longValue())
+                        .setRating(((Number) row[1]).intValue())
+                        .setDeletedAt(toLocalDateTime(row[2])));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
     @Override
     public Optional<ReviewDomain> findById(Long reviewId) {
         return reviewJpaRepository.findById(reviewId)
@@ -76,23 +101,33 @@ public class ReviewRepositoryImpl implements IReviewRepository {
 
     @Override
     public Optional<ReviewDomain> findByIdWithRole(Long id, String role) {
-        Optional<Review> reviewEntity = reviewJpaRepository.findByIdWithRole(id, role);
+        Optional<ReviewView> reviewView = reviewJpaRepository.findByIdWithRole(id, role);
 
-        return reviewEntity.map(review -> ReviewMapper.fromEntityToDomain(review, true, true));
+        return reviewView.map(ReviewMapper::fromViewToDomain);
     }
 
     @Override
-    public List<ReviewDomain> findByMovieIdWithRole(Long movieId, String role) {
-        return reviewJpaRepository.findByMovieIdWithRole(movieId, role).stream()
-                .map(review -> ReviewMapper.fromEntityToDomain(review, true, true))
-                .toList();
+    public List<ReviewDomain> findPageByMovieIdWithRole(
+            Long movieId, String role, LocalDateTime afterCreatedAt, Long afterId, int limit, int excerptLength) {
+        List<ReviewView> reviewViews = afterCreatedAt == null
+                ? reviewJpaRepository.findFirstPageByMovieIdWithRole(
+                        movieId, role, excerptLength, PageRequest.of(0, limit))
+                : reviewJpaRepository.findPageByMovieIdWithRole(
+                        movieId, role, afterCreatedAt, afterId, excerptLength, PageRequest.of(0, limit));
+
+        return ReviewMapper.fromViewListToDomList(reviewViews);
     }
 
     @Override
-    public List<ReviewDomain> findByUserIdWithRole(Long userId, String role) {
-        return reviewJpaRepository.findByUserIdWithRole(userId, role).stream()
-                .map(review -> ReviewMapper.fromEntityToDomain(review, true, true))
-                .toList();
+    public List<ReviewDomain> findPageByUserIdWithRole(
+            Long userId, String role, LocalDateTime afterCreatedAt, Long afterId, int limit, int excerptLength) {
+        List<ReviewView> reviewViews = afterCreatedAt == null
+                ? reviewJpaRepository.findFirstPageByUserIdWithRole(
+                        userId, role, excerptLength, PageRequest.of(0, limit))
+                : reviewJpaRepository.findPageByUserIdWithRole(
+                        userId, role, afterCreatedAt, afterId, excerptLength, PageRequest.of(0, limit));
+
+        return ReviewMapper.fromViewListToDomList(reviewViews);
     }
 
     @Override
@@ -107,7 +142,119 @@ public class ReviewRepositoryImpl implements IReviewRepository {
     }
 
     @Override
-    public void softDelete(Long id) {
-        reviewJpaRepository.softDeleteReview(id);
+    public Optional<ReviewDomain> softDelete(Long id) {
+        return toMovieRatings(reviewJpaRepository.softDeleteReview(id)).stream().findFirst();
+    }
+
+    @Override
+    public List<ReviewDomain> softDeleteByMovieId(Long movieId) {
+        return toMovieRatings(reviewJpaRepository.softDeleteByMovieId(movieId));
+    }
+
+    @Override
+    public List<ReviewDomain> softDeleteByUserId(Long userId) {
+        return toMovieRatings(reviewJpaRepository.softDeleteByUserId(userId));
+    }
+
+    private static List<ReviewDomain> toMovieRatings(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new ReviewDomain()
+                        .setMovieId(((Number) row[0]).longValue())
+                        .setRating(((Number) row[1]).intValue()))
+                .toList();
+    }
+
+    @Override
+    public Optional<ReviewDomain> insertIfAbsent(ReviewDomain reviewDomain) {
+        // Same precision as the timestamp column, so the returned review matches what is read back later
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<Long> insertedIds = reviewJpaRepository.insertIfAbsent(
+                reviewDomain.getText(),
+                reviewDomain.getRating(),
+                reviewDomain.getMovieId(),
+                reviewDomain.getUserId(),
+                createdAt);
+
+        return insertedIds.stream().findFirst().map(id -> new ReviewDomain()
+                .setId(id)
+                .setText(reviewDomain.getText())
+                .setRating(reviewDomain.getRating())
+                .setMovieId(reviewDomain.getMovieId())
+                .setUserId(reviewDomain.getUserId())
+                .setCreatedAt(createdAt)
+                .setUpdatedAt(createdAt));
+    }
+
+    @Override
+    @Transactional
+    public List<Optional<ReviewDomain>> insertAllIfAbsent(List<ReviewDomain> reviews) {
+        // Same precision as the timestamp column, so the returned reviews match what is read back later
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<Optional<ReviewDomain>> insertedReviews = new ArrayList<>(reviews.size());
+        for (int from = 0; from < reviews.size(); from += INSERT_CHUNK_SIZE) {
+            List<ReviewDomain> chunk = reviews.subList(from, Math.min(from + INSERT_CHUNK_SIZE, reviews.size()));
+            Map<List<Long>, Long> insertedIds = insertChunk(chunk, createdAt);
+
+            for (ReviewDomain review : chunk) {
+                Long id = insertedIds.get(List.of(review.getUserId(), review.getMovieId()));
+                insertedReviews.add(Optional.ofNullable(id).map(insertedId -> new ReviewDomain()
+                        .setId(insertedId)
+                        .setText(review.getText())
+                        .setRating(review.getRating())
+                        .setMovieId(review.getMovieId())
+                        .setUserId(review.getUserId())
+                        .setCreatedAt(createdAt)
+                        .setUpdatedAt(createdAt)));
+            }
+        }
+
+        return insertedReviews;
+    }
+
+    /**
+     * Inserts a chunk of reviews with one statement.
+     *
+     * @return the IDs of the inserted reviews by user and movie ID pair
+     */
+    private Map<List<Long>, Long> insertChunk(List<ReviewDomain> chunk, LocalDateTime createdAt) {
+        String[] texts = new String[chunk.size()];
+        Integer[] ratings = new Integer[chunk.size()];
+        Long[] movieIds = new Long[chunk.size()];
+        Long[] userIds = new Long[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            ReviewDomain review = chunk.get(i);
+            texts[i] = review.getText();
+            ratings[i] = review.getRating();
+            movieIds[i] = review.getMovieId();
+            userIds[i] = review.getUserId();
+        }
+
+        Map<List<Long>, Long> insertedIds = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ReviewJpaRepository.INSERT_REVIEWS_IF_ABSENT_SQL);
+            statement.setArray(1, connection.createArrayOf("text", texts));
+            statement.setArray(2, connection.createArrayOf("integer", ratings));
+            statement.setArray(3, connection.createArrayOf("bigint", movieIds));
+            statement.setArray(4, connection.createArrayOf("bigint", userIds));
+            statement.setTimestamp(5, Timestamp.valueOf(createdAt));
+            return statement;
+        }, row -> {
+            insertedIds.put(List.of(row.getLong("user_id"), row.getLong("movie_id")), row.getLong("id"));
+        });
+
+        return insertedIds;
+    }
+
+    @Override
+    public List<ReviewDomain> findActiveByUserIdInAndMovieIdIn(Collection<Long> userIds, Collection<Long> movieIds) {
+        if (userIds.isEmpty() || movieIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return reviewJpaRepository.findActiveUserMovieIdPairs(userIds, movieIds).stream()
+                .map(pair -> new ReviewDomain().setUserId((Long) pair[0]).setMovieId((Long) pair[1]))
+                .toList();
     }
 }
@@ -1,34 +1,69 @@
 package com.example.springreviewhub.infrastructure.database.repository;
 
+import com.example.springreviewhub.core.domain.ReviewDomain;
 import com.example.springreviewhub.core.domain.UserDomain;
 import com.example.springreviewhub.core.interfaces.repositories.IUserRepository;
 import com.example.springreviewhub.infrastructure.database.entity.User;
+import com.example.springreviewhub.infrastructure.database.entity.mapper.ReviewMapper;
 import com.example.springreviewhub.infrastructure.database.entity.mapper.UserMapper;
+import com.example.springreviewhub.infrastructure.database.jpa.ReviewJpaRepository;
 import com.example.springreviewhub.infrastructure.database.jpa.UserJpaRepository;
+import com.example.springreviewhub.infrastructure.database.projection.ReviewView;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class UserRepositoryImpl implements IUserRepository {
 
+    // Streamed users whose reviews are read with one query, same as the fetch size of the stream
+    private static final int STREAM_REVIEW_BATCH_SIZE = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private final UserJpaRepository userJpaRepository;
 
-    public UserRepositoryImpl(UserJpaRepository userJpaRepository) {
+    private final ReviewJpaRepository reviewJpaRepository;
+
+    public UserRepositoryImpl(UserJpaRepository userJpaRepository, ReviewJpaRepository reviewJpaRepository) {
         this.userJpaRepository = userJpaRepository;
+        this.reviewJpaRepository = reviewJpaRepository;
+    }
+
+    @Override
+    public Set<Long> findActiveIdsByIdIn(Collection<Long> ids) {
+        return ids.isEmpty() ? new HashSet<>() : new HashSet<>(userJpaRepository.findActiveIdsByIdIn(ids));
     }
 
     @Override
     public Optional<UserDomain> findByUsername(String username, boolean includeReviews) {
-        return userJpaRepository.findByUsername(username)
-                .map(user -> UserMapper.fromEntityToDomain(user, includeReviews));
+        Optional<User> userEntity = includeReviews
+                ? userJpaRepository.findByUsernameWithReviews(username)
+                : userJpaRepository.findByUsername(username);
+
+        return userEntity.map(user -> UserMapper.fromEntityToDomain(user, includeReviews));
     }
 
     @Override
     public Optional<UserDomain> findById(Long id, boolean includeReviews) {
-        return userJpaRepository.findById(id)
-                .map(user -> UserMapper.fromEntityToDomain(user, includeReviews));
+        Optional<User> userEntity = includeReviews
+                ? userJpaRepository.findByIdWithReviews(id)
+                : userJpaRepository.findById(id);
+
+        return userEntity.map(user -> UserMapper.fromEntityToDomain(user, includeReviews));
     }
 
     @Override
@@ -39,11 +74,58 @@ public class UserRepositoryImpl implements IUserRepository {
 
     @Override
     public List<UserDomain> findAllWithRole(String role, boolean includeReviews) {
-        List<User> userEntity = userJpaRepository.findAllWithRole(role);
+        List<User> userEntity = includeReviews
+                ? userJpaRepository.findAllWithRoleAndReviews(role)
+                : userJpaRepository.findAllWithRole(role);
 
         return UserMapper.fromEntityListToDomList(userEntity, includeReviews);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllWithRole(String role, boolean includeReviews, Consumer<UserDomain> consumer) {
+        List<UserDomain> batch = new ArrayList<>(STREAM_REVIEW_BATCH_SIZE);
+        try (Stream<User> userEntities = userJpaRepository.streamAllWithRole(role)) {
+            userEntities.forEach(user -> {
+                // The lazy reviews are never touched, they are read per batch below
+                UserDomain userDomain = UserMapper.fromEntityToDomain(user, false);
+
+                // Keep the persistence context from growing with every row read from the cursor
+                entityManager.detach(user);
+
+                if (!includeReviews) {
+                    consumer.accept(userDomain);
+                    return;
+                }
+
+                batch.add(userDomain);
+                if (batch.size() == STREAM_REVIEW_BATCH_SIZE) {
+                    acceptWithReviews(batch, consumer);
+                }
+            });
+        }
+        acceptWithReviews(batch, consumer);
+    }
+
+    private void acceptWithReviews(List<UserDomain> batch, Consumer<UserDomain> consumer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ReviewDomain>> reviewsByUser = new HashMap<>();
+        for (UserDomain user : batch) {
+            reviewsByUser.put(user.getId(), new ArrayList<>());
+        }
+        for (ReviewView review : reviewJpaRepository.findViewsByUserIdIn(reviewsByUser.keySet())) {
+            reviewsByUser.get(review.getUserId()).add(ReviewMapper.fromViewToDomain(review));
+        }
+
+        for (UserDomain user : batch) {
+            consumer.accept(user.setReviews(reviewsByUser.get(user.getId())));
+        }
+        batch.clear();
+    }
+
     @Override
     public UserDomain save(UserDomain user) {
         User userEntity = UserMapper.fromDomainToEntity(user);
@@ -51,6 +133,16 @@ public class UserRepositoryImpl implements IUserRepository {
         return UserMapper.fromEntityToDomain(savedEntity, false);
     }
 
+    @Override
+    public boolean lock(Long id, int failedLoginAttempts) {
+        return userJpaRepository.lockUser(id, failedLoginAttempts) > 0;
+    }
+
+    @Override
+    public void updatePassword(Long id, String password) {
+        userJpaRepository.updatePassword(id, password);
+    }
+
     @Override
     public void softDelete(Long id) {
         userJpaRepository.softDeleteUser(id);
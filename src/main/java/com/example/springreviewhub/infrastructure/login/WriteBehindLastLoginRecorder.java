@@ -0,0 +1,198 @@
+package com.example.springreviewhub.infrastructure.login;
+
+import com.example.springreviewhub.core.interfaces.services.ILastLoginRecorder;
+import com.example.springreviewhub.infrastructure.database.jpa.UserJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the last login times of users in the background, keeping only the most recent login per user.
+ * <p>
+ * Logins are accumulated in memory and written every flush window, or as soon as the number of pending
+ * users reaches the configured maximum, with one multi-row UPDATE per chunk of users. The pending logins
+ * are bounded by the configured capacity: once it is reached, logins of users that are not pending yet
+ * are dropped (and counted) until the next flush, as the last login time is informational only. A failed
+ * flush is merged back into the pending logins, and pending logins are flushed on shutdown.
+ * </p>
+ */
+@Service
+public class WriteBehindLastLoginRecorder implements ILastLoginRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindLastLoginRecorder.class);
+
+    // Keeps the arrays bound to a single statement to a reasonable size
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int maxPending;
+
+    private final int capacity;
+
+    private final ScheduledExecutorService executor;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private Map<Long, LocalDateTime> pending = new HashMap<>();
+
+    // Set while a flush triggered by the number of pending users is queued, so at most one is
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Counter dropped;
+
+    private final Timer flushTimer;
+
+    private final DistributionSummary batchSize;
+
+    @Autowired
+    public WriteBehindLastLoginRecorder(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${user.last-login.window:10s}") Duration window,
+            @Value("${user.last-login.max-pending:1000}") int maxPending,
+            @Value("${user.last-login.capacity:100000}") int capacity
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        this.capacity = capacity;
+
+        this.dropped = Counter.builder("user.last-login.dropped").register(meterRegistry);
+        this.flushTimer = Timer.builder("user.last-login.flush").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("user.last-login.batch.size").register(meterRegistry);
+        Gauge.builder("user.last-login.pending", this, WriteBehindLastLoginRecorder::pendingCount)
+                .register(meterRegistry);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::flushQuietly,
+                window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void record(Long userId, LocalDateTime loginAt) {
+        int size;
+        synchronized (lock) {
+            if (pending.size() >= capacity && !pending.containsKey(userId)) {
+                dropped.increment();
+                return;
+            }
+            pending.merge(userId, loginAt, WriteBehindLastLoginRecorder::latest);
+            size = pending.size();
+        }
+
+        if (size >= maxPending && flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    // Logins recorded from now on may trigger the next flush
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the final flush picks it up
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        Map<Long, LocalDateTime> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        try {
+            flushTimer.record(() -> write(batch));
+            batchSize.record(batch.size());
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                batch.forEach((userId, loginAt) ->
+                        pending.merge(userId, loginAt, WriteBehindLastLoginRecorder::latest));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drains the pending logins before the database connections are closed.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private void write(Map<Long, LocalDateTime> batch) {
+        List<Map.Entry<Long, LocalDateTime>> logins = new ArrayList<>(batch.entrySet());
+
+        for (int from = 0; from < logins.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Map.Entry<Long, LocalDateTime>> chunk =
+                    logins.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, logins.size()));
+
+            Long[] ids = new Long[chunk.size()];
+            Timestamp[] loginTimes = new Timestamp[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                ids[i] = chunk.get(i).getKey();
+                loginTimes[i] = Timestamp.valueOf(chunk.get(i).getValue());
+            }
+
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UserJpaRepository.APPLY_LAST_LOGINS_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("timestamp", loginTimes));
+                return statement;
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not write pending last login times, retrying on the next flush", e);
+        }
+    }
+
+    private int pendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
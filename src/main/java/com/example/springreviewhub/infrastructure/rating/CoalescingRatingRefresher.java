@@ -0,0 +1,277 @@
+package com.example.springreviewhub.infrastructure.rating;
+
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.interfaces.services.IMovieCacheService;
+import com.example.springreviewhub.core.interfaces.services.IRatingRefresher;
+import com.example.springreviewhub.infrastructure.database.jpa.MovieJpaRepository;
+import com.example.springreviewhub.infrastructure.search.MovieFilterIndex;
+import com.example.springreviewhub.infrastructure.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies review rating changes in the background, merging the changes to the same movie.
+ * <p>
+ * Every change is inserted into {@code movie_rating_deltas} in the transaction of the review write, so it is
+ * committed or rolled back together with the review and survives a crash. Every flush window, or as soon as
+ * the number of changes submitted on this node reaches the configured maximum, the pending changes of all the
+ * nodes are folded per movie and rating and written in a single JDBC batch which updates both the rating
+ * aggregates of the movies and their rating histograms, in the same transaction that deletes them from the
+ * table. The movies are locked while their changes are folded, which keeps the nodes folding concurrently and
+ * the reconciliation jobs from applying the same changes twice; a failed batch is rolled back and its changes
+ * stay pending, so every change is applied exactly once.
+ * </p>
+ * <p>
+ * The movie filter index of the node that folds a batch is updated with the new ratings.
+ * </p>
+ */
+@Service
+public class CoalescingRatingRefresher implements IRatingRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingRatingRefresher.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MovieJpaRepository movieJpaRepository;
+
+    private final MovieFilterIndex movieFilterIndex;
+
+    private final IMovieCacheService movieCacheService;
+
+    private final int maxPending;
+
+    private final ScheduledExecutorService executor;
+
+    // Changes committed on this node since the last complete flush
+    private final AtomicLong pending = new AtomicLong();
+
+    // Set while a flush triggered by the number of pending changes is queued, so at most one is
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Counter submitted;
+
+    private final Counter written;
+
+    private final Timer flushTimer;
+
+    @Autowired
+    public CoalescingRatingRefresher(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MovieJpaRepository movieJpaRepository,
+            MovieFilterIndex movieFilterIndex,
+            IMovieCacheService movieCacheService,
+            MeterRegistry meterRegistry,
+            @Value("${rating.refresh.window:2s}") Duration window,
+            @Value("${rating.refresh.max-pending:1000}") int maxPending
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.movieJpaRepository = movieJpaRepository;
+        this.movieFilterIndex = movieFilterIndex;
+        this.movieCacheService = movieCacheService;
+        this.maxPending = maxPending;
+
+        this.submitted = Counter.builder("rating.refresh.submitted").register(meterRegistry);
+        this.written = Counter.builder("rating.refresh.written").register(meterRegistry);
+        this.flushTimer = Timer.builder("rating.refresh.flush").register(meterRegistry);
+        Gauge.builder("rating.refresh.pending", pending, AtomicLong::get)
+                .register(meterRegistry);
+        // Number of submitted changes per written movie row, 1 means nothing was coalesced
+        Gauge.builder("rating.refresh.coalescing.ratio", this,
+                        refresher -> written.count() > 0 ? submitted.count() / written.count() : 1.0)
+                .register(meterRegistry);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::flushQuietly,
+                window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void submit(Long movieId, int[] reviewCountDeltas) {
+        submitAll(Map.of(movieId, reviewCountDeltas));
+    }
+
+    @Override
+    public void submitAll(Map<Long, int[]> reviewCountDeltasByMovie) {
+        List<SqlParameterSource> parameters = new ArrayList<>();
+        reviewCountDeltasByMovie.forEach((movieId, reviewCountDeltas) -> {
+            for (int i = 0; i < reviewCountDeltas.length; i++) {
+                if (reviewCountDeltas[i] != 0) {
+                    parameters.add(new MapSqlParameterSource()
+                            .addValue("movieId", movieId)
+                            .addValue("rating", i + ReviewDomain.MIN_RATING)
+                            .addValue("countDelta", reviewCountDeltas[i]));
+                }
+            }
+        });
+        if (parameters.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(MovieJpaRepository.INSERT_RATING_DELTA_SQL,
+                parameters.toArray(new SqlParameterSource[0]));
+
+        int movies = reviewCountDeltasByMovie.size();
+        TransactionUtils.runAfterCommit(() -> {
+            submitted.increment(movies);
+            if (pending.addAndGet(movies) >= maxPending && flushScheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(() -> {
+                        // Changes committed from now on may trigger the next flush
+                        flushScheduled.set(false);
+                        flushQuietly();
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Shutting down, the final flush or another node picks it up
+                    flushScheduled.set(false);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void flush() {
+        long flushed = pending.get();
+        flushTimer.record(() -> {
+            while (foldBatch() == maxPending) {
+                // A full batch, more movies may have pending changes
+            }
+        });
+        pending.addAndGet(-flushed);
+    }
+
+    /**
+     * Applies the pending changes before the database connections are closed.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Folds the pending changes of at most {@code maxPending} movies in one transaction.
+     *
+     * @return the number of movies whose pending changes were claimed
+     */
+    private int foldBatch() {
+        Set<Long> movieIds = new HashSet<>();
+        List<Object[]> ratings = transactionTemplate.execute(status -> {
+            movieIds.addAll(jdbcTemplate.queryForList(MovieJpaRepository.SELECT_MOVIE_IDS_WITH_RATING_DELTAS_SQL,
+                    new MapSqlParameterSource("limit", maxPending), Long.class));
+            if (movieIds.isEmpty()) {
+                return List.of();
+            }
+
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", movieIds);
+            jdbcTemplate.queryForList(MovieJpaRepository.LOCK_MOVIES_FOR_RATING_DELTAS_SQL, ids, Long.class);
+
+            // Changes claimed by another node in the meantime are gone once the lock is granted
+            Map<Long, PendingDelta> batch = new TreeMap<>();
+            jdbcTemplate.query(MovieJpaRepository.CLAIM_RATING_DELTAS_SQL, ids, row -> {
+                batch.computeIfAbsent(row.getLong(1), id -> new PendingDelta())
+                        .add(row.getInt(2), row.getInt(3));
+            });
+            if (batch.isEmpty()) {
+                return List.of();
+            }
+
+            write(batch);
+            written.increment(batch.size());
+
+            return movieJpaRepository.findRatingsByIdIn(batch.keySet());
+        });
+
+        for (Object[] rating : ratings) {
+            movieFilterIndex.updateRating((Long) rating[0], (BigDecimal) rating[1]);
+            movieCacheService.evict((Long) rating[0]);
+        }
+
+        return movieIds.size();
+    }
+
+    private void write(Map<Long, PendingDelta> batch) {
+        List<SqlParameterSource> movieParameters = new ArrayList<>(batch.size());
+        List<SqlParameterSource> histogramParameters = new ArrayList<>();
+        batch.forEach((movieId, delta) -> {
+            long sum = 0;
+            int count = 0;
+            for (int i = 0; i < delta.counts.length; i++) {
+                if (delta.counts[i] != 0) {
+                    int rating = i + ReviewDomain.MIN_RATING;
+                    sum += (long) rating * delta.counts[i];
+                    count += delta.counts[i];
+                    histogramParameters.add(new MapSqlParameterSource()
+                            .addValue("movieId", movieId)
+                            .addValue("rating", rating)
+                            .addValue("countDelta", delta.counts[i]));
+                }
+            }
+
+            if (sum != 0 || count != 0) {
+                movieParameters.add(new MapSqlParameterSource()
+                        .addValue("id", movieId)
+                        .addValue("sumDelta", sum)
+                        .addValue("countDelta", count));
+            }
+        });
+
+        jdbcTemplate.batchUpdate(MovieJpaRepository.APPLY_RATING_DELTA_SQL,
+                movieParameters.toArray(new SqlParameterSource[0]));
+        jdbcTemplate.batchUpdate(MovieJpaRepository.APPLY_RATING_HISTOGRAM_DELTA_SQL,
+                histogramParameters.toArray(new SqlParameterSource[0]));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not apply pending rating changes, retrying on the next flush", e);
+        }
+    }
+
+    private static class PendingDelta {
+
+        private final int[] counts =
+                new int[ReviewDomain.MAX_RATING - ReviewDomain.MIN_RATING + 1];
+
+        void add(int rating, int countDelta) {
+            counts[rating - ReviewDomain.MIN_RATING] += countDelta;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.springreviewhub.infrastructure.rating;
+
+import com.example.springreviewhub.infrastructure.database.jpa.MovieJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Periodically recomputes the rating histograms of all the movies from their reviews.
+ * <p>
+ * Histograms are maintained incrementally on every review write, like the ratings, so they can only drift
+ * if reviews are changed outside of the application. The movies are split into ranges of IDs which are
+ * rebuilt in parallel, each range in its own short transaction, so the table is never locked as a whole
+ * and a failed range does not undo the others. Each range locks its movies, so that no rating refresher
+ * applies their pending rating changes meanwhile, and leaves those changes out of the rebuilt histograms.
+ * </p>
+ */
+@Component
+public class RatingHistogramRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingHistogramRebuildJob.class);
+
+    private final MovieJpaRepository movieJpaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final int parallelism;
+
+    @Autowired
+    public RatingHistogramRebuildJob(
+            MovieJpaRepository movieJpaRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${rating.histogram.rebuild.chunk-size:1000}") int chunkSize,
+            @Value("${rating.histogram.rebuild.parallelism:4}") int parallelism
+    ) {
+        this.movieJpaRepository = movieJpaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${rating.histogram.rebuild.cron:0 30 3 * * SUN}")
+    public void rebuild() {
+        Long maxId = movieJpaRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "rating-histogram-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = Math.min(fromId + chunkSize - 1, maxId);
+                chunks.add(executor.submit(() -> rebuildChunk(from, to)));
+            }
+
+            int rows = 0;
+            int failed = 0;
+            for (Future<Integer> chunk : chunks) {
+                try {
+                    rows += chunk.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("Could not rebuild a range of rating histograms", e.getCause());
+                }
+            }
+
+            log.info("Rebuilt the rating histograms of movies 1 to {}: {} rows written, {} of {} ranges failed",
+                    maxId, rows, failed, chunks.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int rebuildChunk(long fromId, long toId) {
+        Integer rows = transactionTemplate.execute(status -> {
+            movieJpaRepository.lockForRatingHistogramRebuild(fromId, toId);
+            movieJpaRepository.deleteRatingHistogramsBetween(fromId, toId);
+            return movieJpaRepository.insertRatingHistogramsBetween(fromId, toId);
+        });
+        return rows != null ? rows : 0;
+    }
+}
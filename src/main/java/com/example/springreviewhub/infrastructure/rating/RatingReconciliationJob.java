@@ -0,0 +1,38 @@
+package com.example.springreviewhub.infrastructure.rating;
+
+import com.example.springreviewhub.core.interfaces.services.IMovieService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the movie ratings that drifted from their reviews.
+ * <p>
+ * Ratings are maintained incrementally on every review write, so they can only drift if a review
+ * is changed outside of the application (manual SQL, restored backups). The job compares the stored
+ * aggregates and the pending rating changes with the reviews and only rewrites the movies that differ,
+ * locking them so that no rating refresher applies their pending changes meanwhile.
+ * </p>
+ */
+@Component
+public class RatingReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingReconciliationJob.class);
+
+    private final IMovieService movieService;
+
+    @Autowired
+    public RatingReconciliationJob(IMovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    @Scheduled(cron = "${rating.reconciliation.cron:0 0 3 * * *}")
+    public void reconcile() {
+        int recomputed = movieService.reconcileRatings();
+        if (recomputed > 0) {
+            log.warn("Recomputed the rating of {} movies whose aggregates drifted from their reviews", recomputed);
+        }
+    }
+}
@@ -2,14 +2,39 @@ package com.example.springreviewhub.infrastructure.redis;
 
 import com.example.springreviewhub.core.interfaces.services.IRedisService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Service
 public class RedisServiceImpl implements IRedisService {
 
+    // INCR and PEXPIRE in one script, so a counter cannot be left without an expiration
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('INCR', KEYS[1]) "
+                    + "if value == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+                    + "return value",
+            Long.class
+    );
+
+    // EXISTS and SET in one script, so a guard set concurrently cannot be missed
+    private static final RedisScript<Long> SET_UNLESS_GUARDED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 0 end "
+                    + "if tonumber(ARGV[2]) > 0 then redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) "
+                    + "else redis.call('SET', KEYS[1], ARGV[1]) end "
+                    + "return 1",
+            Long.class
+    );
+
     private final RedisTemplate<String, Object> redisTemplate;
 
     @Autowired
@@ -26,14 +51,57 @@ public class RedisServiceImpl implements IRedisService {
         }
     }
 
+    @Override
+    public boolean setIfAbsent(String key, String value, long timeout, TimeUnit unit) {
+        Boolean stored = timeout > 0
+                ? redisTemplate.opsForValue().setIfAbsent(key, value, timeout, unit)
+                : redisTemplate.opsForValue().setIfAbsent(key, value);
+        return Boolean.TRUE.equals(stored);
+    }
+
+    @Override
+    public boolean setUnlessGuarded(String key, String value, long timeout, TimeUnit unit, String guardKey) {
+        Long stored = redisTemplate.execute(SET_UNLESS_GUARDED_SCRIPT, List.of(key, guardKey),
+                value, String.valueOf(timeout > 0 ? unit.toMillis(timeout) : 0));
+        return stored != null && stored == 1L;
+    }
+
     @Override
     public String get(String key) {
         Object value = redisTemplate.opsForValue().get(key);
         return value != null ? value.toString() : null;
     }
 
+    @Override
+    public Set<String> scan(String pattern) {
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+
+        return keys;
+    }
+
+    @Override
+    public long increment(String key, long timeout, TimeUnit unit) {
+        Long value = redisTemplate.execute(INCREMENT_SCRIPT, List.of(key), String.valueOf(unit.toMillis(timeout)));
+        return value != null ? value : 0L;
+    }
+
     @Override
     public void del(String key) {
         redisTemplate.delete(key);
     }
+
+    @Override
+    public void del(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
 }
@@ -0,0 +1,389 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index over the structured movie search filters.
+ * <p>
+ * Every indexed movie is assigned a dense ordinal. Genres are kept as one bitmap of ordinals per
+ * normalized genre, soft deletion as a single bitmap, and release date (epoch day) and rating
+ * (in tenths) as primitive columns with sorted copies used for range lookups. A search is
+ * answered by intersecting these bitmaps instead of evaluating every row in the database.
+ * </p>
+ * <p>
+ * While the index is being built, the sorted copies are only marked stale and sorted once by the
+ * first query. Once it is ready, a changed value is moved to its new position in the sorted copies
+ * directly, so frequent rating updates never re-sort the whole column.
+ * </p>
+ * <p>
+ * Genre filters keep the partial matching of the database query: a filter selects every genre
+ * that contains it, so "sci" still matches "Sci-Fi".
+ * </p>
+ */
+@Component
+public class MovieFilterIndex {
+
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private long[] idByOrdinal = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] ratings = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private final Map<String, BitSet> genres = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // (value << 32 | ordinal) pairs sorted by value, rebuilt on the first query after sortedDirty is set
+    private long[] sortedEpochDays = new long[0];
+    private long[] sortedRatings = new long[0];
+    private boolean sortedDirty = false;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    /**
+     * Checks whether the index has been fully built and can answer queries.
+     *
+     * @return true if the index is ready, false while it is still cold
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the index as fully built.
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Adds a movie to the index, replacing any previously indexed version of it.
+     *
+     * @param movie the movie to index
+     */
+    public void index(MovieDomain movie) {
+        if (movie == null || movie.getId() == null) {
+            return;
+        }
+
+        List<String> movieGenres = normalizeGenres(movie.getGenre());
+        int epochDay = movie.getReleaseDate() != null ? (int) movie.getReleaseDate().toEpochDay() : NO_VALUE;
+        int rating = movie.getRating() != null
+                ? movie.getRating().movePointRight(1).setScale(0, RoundingMode.HALF_UP).intValue()
+                : NO_VALUE;
+
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinalOf(movie.getId());
+
+            Iterator<BitSet> bitmaps = genres.values().iterator();
+            while (bitmaps.hasNext()) {
+                BitSet bitmap = bitmaps.next();
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove();
+                }
+            }
+            for (String genre : movieGenres) {
+                genres.computeIfAbsent(genre, key -> new BitSet()).set(ordinal);
+            }
+
+            deleted.set(ordinal, movie.getDeletedAt() != null);
+
+            if (epochDays[ordinal] != epochDay) {
+                sortedEpochDays = moveSorted(sortedEpochDays, ordinal, epochDays[ordinal], epochDay);
+                epochDays[ordinal] = epochDay;
+            }
+            if (ratings[ordinal] != rating) {
+                sortedRatings = moveSorted(sortedRatings, ordinal, ratings[ordinal], rating);
+                ratings[ordinal] = rating;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the rating of an already indexed movie.
+     *
+     * @param id     the ID of the movie
+     * @param rating the new rating, or {@code null} if the movie has no reviews
+     */
+    public void updateRating(Long id, BigDecimal rating) {
+        int value = rating != null ? rating.movePointRight(1).setScale(0, RoundingMode.HALF_UP).intValue() : NO_VALUE;
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(id);
+            if (ordinal != null && ratings[ordinal] != value) {
+                sortedRatings = moveSorted(sortedRatings, ordinal, ratings[ordinal], value);
+                ratings[ordinal] = value;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a movie as soft deleted so that it is only returned to admins.
+     *
+     * @param id the ID of the soft deleted movie
+     */
+    public void markDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(id);
+            if (ordinal != null) {
+                deleted.set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the movies matching all the given filters.
+     * <p>
+     * When candidate IDs are given (for example the ranked result of a text search), only those are
+     * considered and their order is preserved. Otherwise all matching movies are returned ordered by ID.
+     * </p>
+     *
+     * @param candidateIds   the IDs to restrict the result to, or {@code null} to consider every movie
+     * @param includeDeleted whether soft deleted movies may be returned
+     * @param genre          the genre of the movie to search for (optional)
+     * @param minRating      the minimum rating of the movie (optional)
+     * @param startDate      the start date for the movie's release date range (optional)
+     * @param endDate        the end date for the movie's release date range (optional)
+     * @return the IDs of the matching movies
+     */
+    public List<Long> filter(
+            List<Long> candidateIds,
+            boolean includeDeleted,
+            String genre,
+            BigDecimal minRating,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        lock.readLock().lock();
+        if (sortedDirty) {
+            // A read lock cannot be upgraded: release it, rebuild under the write lock, then take the read
+            // lock again before releasing the write lock (a downgrade) so no writer gets in between
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                if (sortedDirty) {
+                    rebuildSortedColumns();
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        try {
+            BitSet matches = new BitSet(size);
+            matches.set(0, size);
+
+            if (!includeDeleted) {
+                matches.andNot(deleted);
+            }
+
+            if (genre != null && !genre.isBlank()) {
+                matches.and(genreBitmap(genre.trim().toLowerCase(Locale.ROOT)));
+            }
+
+            if (minRating != null) {
+                int lower = minRating.movePointRight(1).setScale(0, RoundingMode.CEILING).intValue();
+                matches.and(rangeBitmap(sortedRatings, lower, Integer.MAX_VALUE));
+            }
+
+            if (startDate != null || endDate != null) {
+                int lower = startDate != null ? (int) startDate.toEpochDay() : NO_VALUE + 1;
+                int upper = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+                matches.and(rangeBitmap(sortedEpochDays, lower, upper));
+            }
+
+            List<Long> ids = new ArrayList<>();
+            if (candidateIds != null) {
+                for (Long id : candidateIds) {
+                    Integer ordinal = ordinalById.get(id);
+                    if (ordinal != null && matches.get(ordinal)) {
+                        ids.add(id);
+                    }
+                }
+            } else {
+                for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                    ids.add(idByOrdinal[ordinal]);
+                }
+                ids.sort(Long::compare);
+            }
+
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int ordinalOf(Long id) {
+        Integer existing = ordinalById.get(id);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (size == idByOrdinal.length) {
+            int capacity = size * 2;
+            idByOrdinal = Arrays.copyOf(idByOrdinal, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+        }
+
+        int ordinal = size++;
+        ordinalById.put(id, ordinal);
+        idByOrdinal[ordinal] = id;
+        // Movies without a value are not in the sorted columns, so these stay valid
+        epochDays[ordinal] = NO_VALUE;
+        ratings[ordinal] = NO_VALUE;
+
+        return ordinal;
+    }
+
+    private BitSet genreBitmap(String filter) {
+        BitSet exact = genres.get(filter);
+        if (exact != null) {
+            return exact;
+        }
+
+        BitSet union = new BitSet();
+        genres.forEach((genre, bitmap) -> {
+            if (genre.contains(filter)) {
+                union.or(bitmap);
+            }
+        });
+        return union;
+    }
+
+    private void rebuildSortedColumns() {
+        sortedEpochDays = sortedColumn(epochDays);
+        sortedRatings = sortedColumn(ratings);
+        sortedDirty = false;
+    }
+
+    /**
+     * Moves the pair of an ordinal from its old value to its new value in a sorted column, shifting only the
+     * pairs in between, or marks the sorted columns stale while the index is still being built. A column only
+     * grows or shrinks, and is copied, when the value is set or cleared.
+     *
+     * @return the column to keep, which is a new array if its length changed
+     */
+    private long[] moveSorted(long[] column, int ordinal, int oldValue, int newValue) {
+        if (!ready || sortedDirty) {
+            sortedDirty = true;
+            return column;
+        }
+
+        if (oldValue == NO_VALUE) {
+            long key = pack(newValue, ordinal);
+            int to = lowerBound(column, key);
+            long[] grown = new long[column.length + 1];
+            System.arraycopy(column, 0, grown, 0, to);
+            grown[to] = key;
+            System.arraycopy(column, to, grown, to + 1, column.length - to);
+            return grown;
+        }
+
+        int from = lowerBound(column, pack(oldValue, ordinal));
+        if (newValue == NO_VALUE) {
+            long[] shrunk = new long[column.length - 1];
+            System.arraycopy(column, 0, shrunk, 0, from);
+            System.arraycopy(column, from + 1, shrunk, from, column.length - from - 1);
+            return shrunk;
+        }
+
+        long key = pack(newValue, ordinal);
+        int to = lowerBound(column, key);
+        if (to > from) {
+            // Larger value: the pairs after the old position move one step down
+            System.arraycopy(column, from + 1, column, from, to - from - 1);
+            column[to - 1] = key;
+        } else {
+            // Smaller value: the pairs from the new position move one step up
+            System.arraycopy(column, to, column, to + 1, from - to);
+            column[to] = key;
+        }
+        return column;
+    }
+
+    private long[] sortedColumn(int[] values) {
+        long[] column = new long[size];
+        int count = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (values[ordinal] != NO_VALUE) {
+                column[count++] = pack(values[ordinal], ordinal);
+            }
+        }
+        column = Arrays.copyOf(column, count);
+        Arrays.sort(column);
+        return column;
+    }
+
+    private static BitSet rangeBitmap(long[] column, int lower, int upper) {
+        BitSet bitmap = new BitSet();
+        int from = lowerBound(column, pack(lower, 0));
+        for (int i = from; i < column.length && (int) (column[i] >> 32) <= upper; i++) {
+            bitmap.set((int) column[i]);
+        }
+        return bitmap;
+    }
+
+    private static int lowerBound(long[] column, long key) {
+        int low = 0;
+        int high = column.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (column[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long pack(int value, int ordinal) {
+        return ((long) value << 32) | (ordinal & 0xFFFFFFFFL);
+    }
+
+    private static List<String> normalizeGenres(String genre) {
+        List<String> normalized = new ArrayList<>();
+        if (genre == null) {
+            return normalized;
+        }
+
+        for (String part : genre.split(",")) {
+            String value = part.trim().toLowerCase(Locale.ROOT);
+            if (!value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Answers movie searches from the in-process indexes.
+ * <p>
+ * The text part of the query is resolved by the {@link MovieSearchIndex}, the structured filters by the
+ * {@link MovieFilterIndex}, and only the matching movies are loaded from the database by primary key.
+ * Callers must check {@link #isReady()} and fall back to the database query while the indexes are
+ * still being built.
+ * </p>
+ */
+@Component
+public class MovieQueryExecutor {
+
+    // Keeps the IN list well below the bind parameter limits of the database driver
+    private static final int FETCH_CHUNK_SIZE = 1000;
+
+    private final MovieSearchIndex movieSearchIndex;
+
+    private final MovieFilterIndex movieFilterIndex;
+
+    @Autowired
+    public MovieQueryExecutor(MovieSearchIndex movieSearchIndex, MovieFilterIndex movieFilterIndex) {
+        this.movieSearchIndex = movieSearchIndex;
+        this.movieFilterIndex = movieFilterIndex;
+    }
+
+    /**
+     * Checks whether both indexes are built and searches can be answered in memory.
+     *
+     * @return true if the executor can be used, false otherwise
+     */
+    public boolean isReady() {
+        return movieSearchIndex.isReady() && movieFilterIndex.isReady();
+    }
+
+    /**
+     * Searches movies using the in-process indexes.
+     * <p>
+     * The matching IDs are handed to the given loader in chunks, together with the role, and the loaded
+     * rows are returned in rank order: by relevance for a text search, by ID otherwise. The loader must
+     * apply the role based visibility filter again, in case a soft delete committed after the indexes
+     * were read.
+     * </p>
+     *
+     * @param role       the role of the user performing the search
+     * @param title      the free text query (optional)
+     * @param genre      the genre of the movie to search for (optional)
+     * @param minRating  the minimum rating of the movie (optional)
+     * @param startDate  the start date for the movie's release date range (optional)
+     * @param endDate    the end date for the movie's release date range (optional)
+     * @param loader     loads the rows of the given movie IDs visible to the given role
+     * @param idOf       extracts the movie ID of a loaded row
+     * @param <T>        the type of the loaded rows (entity or projection)
+     * @return the matching movies
+     */
+    public <T> List<T> execute(
+            String role,
+            String title,
+            String genre,
+            BigDecimal minRating,
+            LocalDate startDate,
+            LocalDate endDate,
+            BiFunction<List<Long>, String, List<T>> loader,
+            Function<T, Long> idOf
+    ) {
+        boolean includeDeleted = "Admin".equals(role);
+
+        List<Long> candidateIds = null;
+        if (title != null && !title.isBlank()) {
+            candidateIds = movieSearchIndex.search(title, includeDeleted);
+            if (candidateIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<Long> ids = movieFilterIndex.filter(candidateIds, includeDeleted, genre, minRating, startDate, endDate);
+
+        Map<Long, Integer> rankById = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rankById.put(ids.get(i), i);
+        }
+
+        List<T> movies = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+            movies.addAll(loader.apply(chunk, role));
+        }
+
+        movies.sort(Comparator.comparing(movie -> rankById.get(idOf.apply(movie))));
+
+        return movies;
+    }
+}
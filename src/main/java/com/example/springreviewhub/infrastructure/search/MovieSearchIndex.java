@@ -0,0 +1,266 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over the title, director and description of movies.
+ * <p>
+ * The index keeps a postings list per term (movie ID to per-field term frequencies) and ranks matches
+ * with BM25, weighting title matches above director and description matches. It is built once at startup
+ * by {@link MovieSearchIndexInitializer} and then kept up to date incrementally by the movie repository,
+ * so text searches no longer scan the {@code movies} table with {@code LIKE '%...%'}.
+ * </p>
+ * <p>
+ * All query terms must match (AND semantics); the last term is also matched as a prefix so that partially
+ * typed words still find results. The postings of every term starting with the prefix are merged, each scored
+ * with its own IDF, so a short prefix is slower but never misses a movie. Soft-deleted movies stay in the index
+ * but are only returned to admins.
+ * </p>
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final int TITLE = 0;
+    private static final int DIRECTOR = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int FIELD_COUNT = 3;
+
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+
+    // Standard BM25 tuning parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    private final Map<Long, int[]> fieldLengths = new HashMap<>();
+    private final Map<Long, Set<String>> termsByMovie = new HashMap<>();
+    private final Set<Long> deletedMovies = new HashSet<>();
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready = false;
+
+    /**
+     * Checks whether the index has been fully built and can answer queries.
+     *
+     * @return true if the index is ready, false while it is still cold
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the index as fully built.
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Adds a movie to the index, replacing any previously indexed version of it.
+     *
+     * @param movie the movie to index
+     */
+    public void index(MovieDomain movie) {
+        if (movie == null || movie.getId() == null) {
+            return;
+        }
+
+        String[] fieldTexts = new String[FIELD_COUNT];
+        fieldTexts[TITLE] = movie.getTitle();
+        fieldTexts[DIRECTOR] = movie.getDirector();
+        fieldTexts[DESCRIPTION] = movie.getDescription();
+
+        // Tokenize outside of the lock, writers only hold it to swap postings
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] lengths = new int[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            List<String> terms = TextTokenizer.tokenize(fieldTexts[field]);
+            lengths[field] = terms.size();
+            for (String term : terms) {
+                termFrequencies.computeIfAbsent(term, key -> new int[FIELD_COUNT])[field]++;
+            }
+        }
+
+        Long id = movie.getId();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+
+            termFrequencies.forEach((term, frequencies) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequencies));
+            termsByMovie.put(id, termFrequencies.keySet());
+            fieldLengths.put(id, lengths);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] += lengths[field];
+            }
+
+            if (movie.getDeletedAt() != null) {
+                deletedMovies.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a movie as soft deleted so that it is only returned to admins.
+     *
+     * @param id the ID of the soft deleted movie
+     */
+    public void markDeleted(Long id) {
+        lock.writeLock().lock();
+        try {
+            deletedMovies.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns the IDs of the matching movies, best match first.
+     *
+     * @param query          the free text query
+     * @param includeDeleted whether soft deleted movies may be returned
+     * @return the IDs of the matching movies ordered by descending relevance
+     */
+    public List<Long> search(String query, boolean includeDeleted) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int movieCount = fieldLengths.size();
+            if (movieCount == 0) {
+                return new ArrayList<>();
+            }
+
+            double[] averageLengths = new double[FIELD_COUNT];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                averageLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / movieCount);
+            }
+
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                Collection<Map<Long, int[]>> termPostings = i == queryTerms.size() - 1
+                        ? expandPrefix(term)
+                        : singlePostings(term);
+
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map<Long, int[]> movies : termPostings) {
+                    double idf = idf(movieCount, movies.size());
+                    for (Map.Entry<Long, int[]> entry : movies.entrySet()) {
+                        if (scores != null && !scores.containsKey(entry.getKey())) {
+                            continue;
+                        }
+                        double score = idf * bm25(entry.getValue(), fieldLengths.get(entry.getKey()), averageLengths);
+                        termScores.merge(entry.getKey(), score, Double::sum);
+                    }
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                    }
+                }
+
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            if (!includeDeleted) {
+                deletedMovies.forEach(scores::remove);
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<Long> ids = new ArrayList<>(ranked.size());
+            ranked.forEach(entry -> ids.add(entry.getKey()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Map<Long, int[]>> singlePostings(String term) {
+        Map<Long, int[]> movies = postings.get(term);
+        return movies != null ? List.of(movies) : List.of();
+    }
+
+    private Collection<Map<Long, int[]>> expandPrefix(String prefix) {
+        // Terms are sorted, so the ones starting with the prefix are contiguous from the prefix itself
+        List<Map<Long, int[]>> expansions = new ArrayList<>();
+        for (Map.Entry<String, Map<Long, int[]>> entry : postings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            expansions.add(entry.getValue());
+        }
+        return expansions;
+    }
+
+    private void removeLocked(Long id) {
+        Set<String> terms = termsByMovie.remove(id);
+        if (terms != null) {
+            for (String term : terms) {
+                Map<Long, int[]> movies = postings.get(term);
+                if (movies != null) {
+                    movies.remove(id);
+                    if (movies.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        int[] lengths = fieldLengths.remove(id);
+        if (lengths != null) {
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] -= lengths[field];
+            }
+        }
+
+        deletedMovies.remove(id);
+    }
+
+    private static double idf(int movieCount, int documentFrequency) {
+        return Math.log(1.0 + (movieCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double bm25(int[] frequencies, int[] lengths, double[] averageLengths) {
+        double score = 0.0;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            int frequency = frequencies[field];
+            if (frequency == 0) {
+                continue;
+            }
+            double norm = K1 * (1 - B + B * lengths[field] / averageLengths[field]);
+            score += FIELD_WEIGHTS[field] * frequency * (K1 + 1) / (frequency + norm);
+        }
+        return score;
+    }
+}
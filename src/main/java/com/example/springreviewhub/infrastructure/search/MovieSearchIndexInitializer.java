@@ -0,0 +1,66 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.infrastructure.database.entity.mapper.MovieMapper;
+import com.example.springreviewhub.infrastructure.database.jpa.MovieJpaRepository;
+import com.example.springreviewhub.infrastructure.database.projection.MovieView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the {@link MovieSearchIndex} and the {@link MovieFilterIndex} once the application is ready.
+ * <p>
+ * Running on {@link ApplicationReadyEvent} guarantees that the seeders have already populated the
+ * database. Movies are loaded in keyset pages so that the whole table is never held in memory at once.
+ * Until the build completes, movie searches fall back to the database.
+ * </p>
+ */
+@Component
+public class MovieSearchIndexInitializer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MovieJpaRepository movieJpaRepository;
+
+    private final MovieSearchIndex movieSearchIndex;
+
+    private final MovieFilterIndex movieFilterIndex;
+
+    @Autowired
+    public MovieSearchIndexInitializer(
+            MovieJpaRepository movieJpaRepository,
+            MovieSearchIndex movieSearchIndex,
+            MovieFilterIndex movieFilterIndex
+    ) {
+        this.movieJpaRepository = movieJpaRepository;
+        this.movieSearchIndex = movieSearchIndex;
+        this.movieFilterIndex = movieFilterIndex;
+    }
+
+    /**
+     * Loads every movie, including soft deleted ones, into the indexes and marks them ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long afterId = 0L;
+        List<MovieView> batch;
+
+        do {
+            batch = movieJpaRepository.findViewPageWithRole("Admin", afterId, PageRequest.of(0, BATCH_SIZE));
+            for (MovieView movie : batch) {
+                MovieDomain movieDomain = MovieMapper.fromViewToDomain(movie);
+                movieSearchIndex.index(movieDomain);
+                movieFilterIndex.index(movieDomain);
+                afterId = movie.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        movieSearchIndex.markReady();
+        movieFilterIndex.markReady();
+    }
+}
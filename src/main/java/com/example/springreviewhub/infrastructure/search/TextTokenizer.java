@@ -0,0 +1,45 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizer used by the in-process search indexes.
+ * <p>
+ * Text is Unicode normalized, stripped of diacritics, lower cased and split on every character that is
+ * neither a letter nor a digit, so accented and unaccented spellings of a word produce the same term.
+ * </p>
+ */
+public class TextTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Splits the given text into normalized terms.
+     *
+     * @param text the text to tokenize, may be {@code null}
+     * @return the list of terms in order of appearance, possibly empty
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        for (String term : SEPARATORS.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+
+        return terms;
+    }
+}
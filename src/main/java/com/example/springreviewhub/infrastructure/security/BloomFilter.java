@@ -0,0 +1,83 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of {@code long} keys.
+ * <p>
+ * {@link #mightContain(long)} never returns false for a key that was added, and returns true for a key
+ * that was not added with about the configured false positive rate, as long as no more than the expected
+ * number of keys are added. Keys cannot be removed: the filter is rebuilt instead. Bits are set with
+ * compare-and-set, so lookups never block.
+ * </p>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of keys and the target false positive rate.
+     *
+     * @param expectedInsertions the number of keys the filter is sized for
+     * @param falsePositiveRate  the target rate of false positives, between 0 and 1 (exclusive)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (bits + 63) / 64);
+
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash1 + i * hash2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash1 + i * hash2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & 0x7fffffffL) % bitCount;
+    }
+
+    /**
+     * Spreads the bits of the key (SplitMix64 finalizer), so sequential IDs do not map to neighbouring bits.
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import com.example.springreviewhub.core.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder running the hashing of its delegate on a dedicated, bounded pool of threads.
+ * <p>
+ * Password hashing is deliberately expensive. Running it on the request threads lets a burst of logins or
+ * registrations take every core and starve the other endpoints. Here at most {@code threads} hashes run at
+ * once and at most {@code queueCapacity} wait for a thread. Beyond that, or when a hash waits longer than
+ * {@code maxWait}, the caller gets a {@link ServiceUnavailableException} right away instead of piling up.
+ * </p>
+ * <p>
+ * Queue depth, waiting time, hashing time and rejections are exported under {@code password.hash.*}.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration maxWait;
+
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(
+            PasswordEncoder delegate,
+            int threads,
+            int queueCapacity,
+            Duration maxWait,
+            Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("password.hash.wait").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the stored hash, nothing to offload
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the pool once the application context closes.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer hashTimer, Callable<T> hash) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException overloaded() {
+        rejected.increment();
+        return new ServiceUnavailableException(
+                "Too many password operations in progress, please retry later", retryAfterSeconds);
+    }
+}
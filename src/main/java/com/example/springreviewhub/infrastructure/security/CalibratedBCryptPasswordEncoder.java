@@ -0,0 +1,93 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder whose cost factor is chosen for the hardware the application runs on.
+ * <p>
+ * {@link #calibrate(int, int, Duration)} hashes a sample password at increasing cost factors and returns the
+ * highest one that stays under the latency target. All the nodes of a deployment must hash with the same cost,
+ * otherwise logins served by nodes on different hardware would keep rehashing the same password back and forth;
+ * the cost is therefore calibrated once per deployment and shared (see {@code SecurityConfig}). Stored hashes of
+ * any other cost, higher or lower, are reported by {@link #upgradeEncoding(String)}, so they can be rehashed on
+ * the next successful login, unless rehashing is disabled because the shared cost is unknown.
+ * </p>
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+
+    private final boolean rehash;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        this(strength, true);
+    }
+
+    /**
+     * @param strength the cost factor of new hashes
+     * @param rehash   whether hashes of another cost factor are reported by {@link #upgradeEncoding(String)}
+     */
+    public CalibratedBCryptPasswordEncoder(int strength, boolean rehash) {
+        super(strength);
+        this.strength = strength;
+        this.rehash = rehash;
+    }
+
+    /**
+     * Finds the highest cost factor whose hashing time stays under the target on this node.
+     *
+     * @param minCost       the lowest acceptable cost factor, used even if it is slower than the target
+     * @param maxCost       the highest cost factor to try
+     * @param targetLatency the maximum time a single hash should take
+     * @return the calibrated cost factor
+     */
+    public static int calibrate(int minCost, int maxCost, Duration targetLatency) {
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(minCost).encode(SAMPLE_PASSWORD);
+
+        int cost = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(SAMPLE_PASSWORD);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            if (elapsed.compareTo(targetLatency) > 0) {
+                break;
+            }
+            cost = candidate;
+        }
+
+        log.info("Calibrated the password hash cost factor to {} (target {} ms per hash)",
+                cost, targetLatency.toMillis());
+        return cost;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Reports hashes whose cost factor differs from the current one, in either direction.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || !rehash) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
@@ -38,8 +38,12 @@ import java.util.Collections;
 @Component
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
+    private final JwtService jwtService;
+
     @Autowired
-    private JwtService jwtService;
+    public JWTAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
 
     /**
      * Main filter logic to validate tokens and set up authentication context.
@@ -65,11 +69,9 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = getToken(authorizationHeader);
 
-            if (!jwtService.validateToken(token)) {
-                throw new InvalidTokenException("Invalid token");
-            }
-
-            Claims claims = jwtService.extractAllClaims(token);
+            // Verified once, or not at all when the token was verified by an earlier request
+            Claims claims = jwtService.verifyToken(token)
+                    .orElseThrow(() -> new InvalidTokenException("Invalid token"));
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     claims, null, Collections.singleton(() -> ((String) claims.get("role")).toLowerCase())
@@ -1,18 +1,33 @@
 package com.example.springreviewhub.infrastructure.security;
 
 import com.example.springreviewhub.core.domain.UserDomain;
+import com.example.springreviewhub.core.interfaces.services.ITokenRevocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service class for managing JSON Web Tokens (JWTs).
@@ -29,25 +44,82 @@ import java.util.Map;
  *   <li>Extracting information from tokens, such as the username and additional claims</li>
  * </ul>
  * </p>
+ * <p>
+ * The signing key and the parser are built once. Verified claims are cached in memory, keyed by the SHA-256
+ * digest of the token and never kept past the expiration of the token, so repeated requests with the same
+ * bearer token skip parsing and signature verification. The revocation check is not cached and runs on
+ * every verification, so a revoked token is rejected even while its claims are cached.
+ * </p>
  */
 @Component
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final long expirationTime;
+
+    private final Duration claimsCacheTtl;
+
+    private final ITokenRevocationService tokenRevocationService;
+
+    private final Key signingKey;
+
+    // Immutable and thread-safe, shared by all requests
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final Cache<String, Claims> claimsCache;
+
+    /**
+     * Builds the signing key, the parser and the cache of verified claims from the configuration.
+     */
+    @Autowired
+    public JwtService(
+            MeterRegistry meterRegistry,
+            ITokenRevocationService tokenRevocationService,
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long expirationTime,
+            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+            @Value("${jwt.claims-cache.ttl:5m}") Duration claimsCacheTtl
+    ) {
+        this.expirationTime = expirationTime;
+        this.claimsCacheTtl = claimsCacheTtl;
+        this.tokenRevocationService = tokenRevocationService;
+
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return timeToLive(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return timeToLive(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt-claims");
+    }
 
     /**
      * Retrieves the signing key used for JWT creation and validation.
      * <p>
-     * The key is generated using the secret key defined in the application's configuration.
+     * The key is generated once from the secret key defined in the application's configuration.
      *
      * @return a {@link Key} object for HMAC-SHA encryption
      */
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        return signingKey;
     }
 
     /**
@@ -90,27 +162,47 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verifies the provided JWT token and returns its claims.
+     * <p>
+     * The token is parsed and its signature checked at most once while it is cached: later calls with the
+     * same token are answered from the cache of verified claims, until the token expires. Tokens of users
+     * whose tokens were revoked after the token was issued are rejected.
+     *
+     * @param token the JWT token to verify
+     * @return an {@link Optional} containing the claims of the token, or empty if it is invalid, expired or revoked
+     */
+    public Optional<Claims> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        Claims claims = claimsCache.getIfPresent(digest);
+        if (claims == null) {
+            try {
+                claims = parser.parseClaimsJws(token).getBody();
+                claimsCache.put(digest, claims);
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired token
+                return Optional.empty();
+            }
+        }
+
+        return isRevoked(claims) ? Optional.empty() : Optional.of(claims);
+    }
+
     /**
      * Validates the provided JWT token.
      * <p>
      * The method checks if the token is valid and properly signed using the configured signing key.
-     * If the token is invalid or expired, the method catches the exception and returns false.
+     * If the token is invalid or expired, the method returns false.
      *
      * @param token the JWT token to validate
      * @return {@code true} if the token is valid, {@code false} otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            // Parse and validate the token
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            // Handle invalid or expired token
-            return false;
-        }
+        return verifyToken(token).isPresent();
     }
 
     /**
@@ -177,10 +269,46 @@ public class JwtService {
      * @return a {@link Claims} object containing all claims from the token
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Checks the claims against the revoked users. Tokens without an issue time count as issued at the epoch.
+     */
+    private boolean isRevoked(Claims claims) {
+        if (claims.get("id") == null) {
+            return false;
+        }
+
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant().getEpochSecond() : 0L;
+        return tokenRevocationService.isRevoked(extractIdFromClaims(claims), issuedAt);
+    }
+
+    /**
+     * Computes how long verified claims may stay cached: the configured TTL, but never past the expiration
+     * of the token.
+     */
+    private long timeToLive(Claims claims) {
+        long ttl = claimsCacheTtl.toNanos();
+        if (claims.getExpiration() == null) {
+            return ttl;
+        }
+
+        long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+                claims.getExpiration().getTime() - System.currentTimeMillis());
+        return Math.max(0, Math.min(ttl, untilExpiration));
+    }
+
+    /**
+     * Hashes a token into the key of the claims cache, so the cache never holds bearer tokens themselves.
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 }
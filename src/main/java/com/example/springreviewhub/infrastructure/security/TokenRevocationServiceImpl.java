@@ -0,0 +1,185 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import com.example.springreviewhub.core.interfaces.services.ITokenRevocationService;
+import com.example.springreviewhub.infrastructure.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revokes user tokens through Redis, with a per-node Bloom filter in front of it.
+ * <p>
+ * A revocation stores the revocation time under {@code revoked-user:{id}} in Redis, for as long as the
+ * tokens issued before it may still be valid, and publishes the user ID on a Redis channel so that every
+ * node adds it to its Bloom filter of revoked users. A token is checked against the Bloom filter first:
+ * a miss means the user was never revoked, without leaving the node, and only a hit is confirmed by
+ * reading the revocation time from Redis. If Redis cannot be read, a hit is treated as revoked.
+ * </p>
+ * <p>
+ * The filter is rebuilt from Redis on startup and periodically, which drops expired revocations and
+ * picks up those a node missed while it was disconnected from the channel. Token issue times have a
+ * precision of one second, so a token issued in the same second as the revocation is still accepted.
+ * </p>
+ */
+@Service
+public class TokenRevocationServiceImpl implements ITokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    private static final String KEY_PREFIX = "revoked-user:";
+
+    private static final String REVOCATION_CHANNEL = "revoked-users";
+
+    private final IRedisService redisService;
+
+    private final long tokenLifetimeMillis;
+
+    private final long expectedRevocations;
+
+    private final double falsePositiveRate;
+
+    private final Object lock = new Object();
+
+    // Replaced on every rebuild, read without locking
+    private volatile BloomFilter revokedUsers;
+
+    // Guarded by lock; receives the revocations made while a rebuild reads Redis
+    private BloomFilter rebuilding;
+
+    private final Counter notRevoked;
+
+    private final Counter falsePositives;
+
+    private final Counter revoked;
+
+    @Autowired
+    public TokenRevocationServiceImpl(
+            IRedisService redisService,
+            MeterRegistry meterRegistry,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${jwt.expiration}") long tokenLifetimeMillis,
+            @Value("${jwt.revocation.bloom.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.bloom.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this.redisService = redisService;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedUsers = new BloomFilter(expectedRevocations, falsePositiveRate);
+
+        this.notRevoked = Counter.builder("jwt.revocation.checks").tag("result", "not-revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("jwt.revocation.checks").tag("result", "false-positive")
+                .register(meterRegistry);
+        this.revoked = Counter.builder("jwt.revocation.checks").tag("result", "revoked").register(meterRegistry);
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> addLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(REVOCATION_CHANNEL)
+        );
+
+        rebuildQuietly();
+    }
+
+    @Override
+    public void revokeUser(Long userId) {
+        TransactionUtils.runAfterCommit(() -> {
+            addLocal(userId);
+
+            String revokedAt = String.valueOf(Instant.now().getEpochSecond());
+            redisService.set(KEY_PREFIX + userId, revokedAt, tokenLifetimeMillis, TimeUnit.MILLISECONDS);
+            redisService.publish(REVOCATION_CHANNEL, userId.toString());
+        });
+    }
+
+    @Override
+    public boolean isRevoked(Long userId, long issuedAtEpochSecond) {
+        if (!revokedUsers.mightContain(userId)) {
+            notRevoked.increment();
+            return false;
+        }
+
+        String revokedAt;
+        try {
+            revokedAt = redisService.get(KEY_PREFIX + userId);
+        } catch (DataAccessException e) {
+            // Cannot confirm, fail closed: a hit is a revocation in the vast majority of cases
+            revoked.increment();
+            return true;
+        }
+
+        if (revokedAt == null || issuedAtEpochSecond >= Long.parseLong(revokedAt)) {
+            falsePositives.increment();
+            return false;
+        }
+
+        revoked.increment();
+        return true;
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the revocations still stored in Redis.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT5M}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:PT5M}")
+    public void rebuild() {
+        BloomFilter filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        synchronized (lock) {
+            rebuilding = filter;
+        }
+
+        try {
+            for (String key : redisService.scan(KEY_PREFIX + "*")) {
+                filter.add(Long.parseLong(key.substring(KEY_PREFIX.length())));
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                rebuilding = null;
+            }
+            throw e;
+        }
+
+        // Swapped under the lock, so no revocation lands only in the filter being replaced
+        synchronized (lock) {
+            revokedUsers = filter;
+            rebuilding = null;
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Could not load the revoked users, relying on revocations received from now on", e);
+        }
+    }
+
+    private void addLocal(String userId) {
+        try {
+            addLocal(Long.valueOf(userId));
+        } catch (NumberFormatException e) {
+            // Not one of ours, nothing to revoke
+        }
+    }
+
+    private void addLocal(Long userId) {
+        synchronized (lock) {
+            revokedUsers.add(userId);
+            if (rebuilding != null) {
+                rebuilding.add(userId);
+            }
+        }
+    }
+}
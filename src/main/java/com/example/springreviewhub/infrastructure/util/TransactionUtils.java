@@ -0,0 +1,37 @@
+package com.example.springreviewhub.infrastructure.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for running side effects relative to the current transaction.
+ * <p>
+ * In-memory structures (search indexes, caches) must only observe changes that were actually
+ * committed, otherwise a rolled back write would leave them out of sync with the database.
+ * </p>
+ */
+public class TransactionUtils {
+
+    /**
+     * Runs the given action after the current transaction commits.
+     * <p>
+     * If no transaction synchronization is active (for example when the caller is not transactional),
+     * the action is run immediately.
+     * </p>
+     *
+     * @param action the action to run
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+-- Baseline: the schema previously generated by Hibernate (ddl-auto=update) from the entities, exactly as it
+-- was before the migrations existed. Databases created that way are baselined at this version and start at V2,
+-- so every later change to the schema belongs in a new migration, never here.
+
+CREATE TABLE users (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username              VARCHAR(50)  NOT NULL UNIQUE,
+    email                 VARCHAR(100) NOT NULL UNIQUE,
+    password              VARCHAR(255) NOT NULL,
+    role                  VARCHAR(20)  NOT NULL CHECK (role IN ('Admin', 'Reviewer')),
+    is_active             BOOLEAN      NOT NULL DEFAULT TRUE,
+    last_login_at         TIMESTAMP(6),
+    failed_login_attempts INTEGER      NOT NULL DEFAULT 0,
+    phone_number          VARCHAR(15) UNIQUE,
+    address               VARCHAR(255),
+    date_of_birth         DATE,
+    email_verified        BOOLEAN      NOT NULL DEFAULT FALSE,
+    bio                   VARCHAR(500),
+    created_at            TIMESTAMP(6) NOT NULL,
+    updated_at            TIMESTAMP(6) NOT NULL,
+    deleted_at            TIMESTAMP(6)
+);
+
+CREATE TABLE movies (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255)  NOT NULL,
+    description  TEXT          NOT NULL,
+    release_date DATE          NOT NULL,
+    duration     INTEGER       NOT NULL,
+    genre        VARCHAR(255)  NOT NULL,
+    director     VARCHAR(255)  NOT NULL,
+    rating       NUMERIC(3, 1) CHECK (rating >= 1.0 AND rating <= 10.0),
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6),
+    deleted_at   TIMESTAMP(6)
+);
+
+CREATE TABLE reviews (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text       TEXT         NOT NULL,
+    rating     INTEGER      NOT NULL CHECK (rating >= 1 AND rating <= 10),
+    movie_id   BIGINT REFERENCES movies (id),
+    user_id    BIGINT REFERENCES users (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    deleted_at TIMESTAMP(6)
+);
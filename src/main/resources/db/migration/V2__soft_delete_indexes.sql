@@ -0,0 +1,36 @@
+-- Indexes for the soft delete predicates and the keyset pagination of reviews.
+--
+-- Most queries only read live rows (deleted_at IS NULL); partial indexes on those rows are smaller and
+-- are used whenever the predicate is known at planning time. Admin queries also read deleted rows,
+-- so the keyset indexes over all rows are kept as well.
+
+-- Keyset pagination of reviews, newest first (admin, all rows)
+CREATE INDEX IF NOT EXISTS idx_reviews_movie_created ON reviews (movie_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_user_created ON reviews (user_id, created_at DESC, id DESC);
+
+-- Keyset pagination, rating aggregates and duplicate checks on live reviews
+CREATE INDEX idx_reviews_movie_created_live ON reviews (movie_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_reviews_user_created_live ON reviews (user_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+-- A user can only have one live review per movie. Older duplicates that slipped through the
+-- check-then-insert path are soft deleted first; the rating aggregates (V3) and histograms (V6) are computed
+-- from the live reviews afterwards.
+UPDATE reviews r
+SET deleted_at = CURRENT_TIMESTAMP
+WHERE r.deleted_at IS NULL
+  AND EXISTS (SELECT 1
+              FROM reviews newer
+              WHERE newer.user_id = r.user_id
+                AND newer.movie_id = r.movie_id
+                AND newer.deleted_at IS NULL
+                AND newer.id > r.id);
+
+CREATE UNIQUE INDEX uq_reviews_user_movie_live ON reviews (user_id, movie_id)
+    WHERE deleted_at IS NULL;
+
+-- Range filters of the database fallback of the movie search (title and genre are substring matches,
+-- which a b-tree cannot serve; those are answered by the in-process search index)
+CREATE INDEX idx_movies_release_date_live ON movies (release_date) WHERE deleted_at IS NULL;
+CREATE INDEX idx_movies_rating_live ON movies (rating) WHERE deleted_at IS NULL;
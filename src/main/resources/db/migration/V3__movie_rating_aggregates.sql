@@ -0,0 +1,16 @@
+-- Rating aggregates of the movies over their live reviews. The rating is derived from them by the statements
+-- applying the rating deltas of review writes, instead of an AVG over all the reviews of the movie.
+
+ALTER TABLE movies
+    ADD COLUMN rating_sum   BIGINT  NOT NULL DEFAULT 0,
+    ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE movies m
+SET rating_sum   = s.rating_sum,
+    rating_count = s.rating_count,
+    rating       = CASE WHEN s.rating_count > 0 THEN ROUND(CAST(s.rating_sum AS NUMERIC) / s.rating_count, 1) END
+FROM (SELECT mv.id, COALESCE(SUM(r.rating), 0) AS rating_sum, COUNT(r.id) AS rating_count
+      FROM movies mv
+               LEFT JOIN reviews r ON r.movie_id = mv.id AND r.deleted_at IS NULL
+      GROUP BY mv.id) s
+WHERE m.id = s.id;
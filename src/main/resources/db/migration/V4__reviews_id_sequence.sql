@@ -0,0 +1,9 @@
+-- Review IDs move from an identity column to a sequence, so that review inserts can be batched by JDBC.
+-- The pooled generator of Review#id allocates them 50 at a time, handing out the 50 values up to the one
+-- returned by the sequence, so the sequence starts one block past the IDs already used.
+
+ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE reviews_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('reviews_seq', (SELECT COALESCE(MAX(id), 0) FROM reviews) + 50);
@@ -0,0 +1,14 @@
+-- Rating changes of review writes that are not applied to the movies yet, one row per movie, rating and write.
+-- They are inserted in the transaction of the review write and folded into movies.rating_sum/rating_count in
+-- batches by the rating refresher of any node, which deletes them in the same transaction. At any time, the
+-- live reviews of a movie are therefore exactly its stored aggregates plus its pending rows here, which lets
+-- the reconciliation job recompute the aggregates without losing or repeating a change.
+
+CREATE TABLE movie_rating_deltas (
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    movie_id    BIGINT  NOT NULL REFERENCES movies (id),
+    rating      INTEGER NOT NULL CHECK (rating >= 1 AND rating <= 10),
+    count_delta INTEGER NOT NULL
+);
+
+CREATE INDEX idx_movie_rating_deltas_movie ON movie_rating_deltas (movie_id);
@@ -0,0 +1,17 @@
+-- Number of live reviews per movie and rating (1 to 10), maintained incrementally by the rating refresher.
+-- Missing rows mean no reviews with that rating. The rating histogram rebuild job recomputes the table
+-- from the reviews if it ever drifts.
+
+CREATE TABLE movie_rating_histograms (
+    movie_id     BIGINT  NOT NULL REFERENCES movies (id),
+    rating       INTEGER NOT NULL CHECK (rating >= 1 AND rating <= 10),
+    review_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (movie_id, rating)
+);
+
+INSERT INTO movie_rating_histograms (movie_id, rating, review_count)
+SELECT movie_id, rating, COUNT(*)
+FROM reviews
+WHERE deleted_at IS NULL
+  AND movie_id IS NOT NULL
+GROUP BY movie_id, rating;
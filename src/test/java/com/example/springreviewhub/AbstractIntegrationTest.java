@@ -0,0 +1,92 @@
+package com.example.springreviewhub;
+
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.infrastructure.database.entity.Movie;
+import com.example.springreviewhub.infrastructure.database.entity.User;
+import com.example.springreviewhub.infrastructure.database.jpa.MovieJpaRepository;
+import com.example.springreviewhub.infrastructure.database.jpa.UserJpaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base class of the tests that run against the whole application with a real PostgreSQL and Redis.
+ * <p>
+ * Both run in containers started once for all the test classes, so Docker must be available. Every test
+ * creates its own users and movies with the helpers below, so tests never depend on each other's data.
+ * The statements sent to the database are recorded by {@link StatementCounter}.
+ * </p>
+ */
+@SpringBootTest
+@Import(StatementCounter.class)
+public abstract class AbstractIntegrationTest {
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static {
+        POSTGRES.start();
+        REDIS.start();
+    }
+
+    @Autowired
+    protected UserJpaRepository userJpaRepository;
+
+    @Autowired
+    protected MovieJpaRepository movieJpaRepository;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+
+        registry.add("jwt.secret", () -> "integration-test-secret-of-at-least-32-bytes");
+        registry.add("jwt.expiration", () -> "3600000");
+        registry.add("spring.mail.username", () -> "test@example.com");
+        registry.add("spring.mail.password", () -> "test");
+        // The lowest BCrypt cost, so the seeders and logins do not slow the tests down
+        registry.add("password.hash.cost", () -> "4");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        // Rating changes are only applied when a test flushes them, so no background statement is counted
+        registry.add("rating.refresh.window", () -> "1h");
+    }
+
+    protected User saveUser() {
+        String name = "user-" + UUID.randomUUID();
+        return userJpaRepository.save(new User()
+                .setUsername(name)
+                .setEmail(name + "@example.com")
+                .setPassword("not-a-hash")
+                .setRole(Role.Reviewer)
+                .setIsActive(true)
+                .setFailedLoginAttempts(0)
+                .setEmailVerified(true)
+                .setPhoneNumber("080000000000")
+                .setAddress("Test street 1")
+                .setDateOfBirth(LocalDate.of(1990, 1, 1))
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+    }
+
+    protected Movie saveMovie() {
+        return movieJpaRepository.save(new Movie()
+                .setTitle("Movie " + UUID.randomUUID())
+                .setDescription("A movie created by a test.")
+                .setReleaseDate(LocalDate.of(2020, 1, 1))
+                .setDuration(120)
+                .setGenre("Drama")
+                .setDirector("Test Director"));
+    }
+}
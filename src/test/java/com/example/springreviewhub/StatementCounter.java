@@ -0,0 +1,98 @@
+package com.example.springreviewhub;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records every SQL statement sent to the database, whether by Hibernate or by a {@code JdbcTemplate}.
+ * <p>
+ * The data source is wrapped in a proxy which remembers the SQL of every statement it prepares and records it
+ * each time the statement is executed. A JDBC batch is executed, and recorded, once. Tests {@link #reset()} the
+ * recorded statements, run the code under test and then inspect {@link #statements()}.
+ * </p>
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    public static void reset() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    /**
+     * @return the executed statements in lower case, oldest first
+     */
+    public static List<String> statements() {
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+
+    /**
+     * @return the number of executed statements that contain the given SQL fragment, ignoring case
+     */
+    public static long count(String fragment) {
+        String lowerCaseFragment = fragment.toLowerCase(Locale.ROOT);
+        return statements().stream().filter(sql -> sql.contains(lowerCaseFragment)).count();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // Prepared and callable statements get their SQL here, plain statements on execution
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, method.getReturnType(), sql);
+            }
+            return result;
+        });
+    }
+
+    private static Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                synchronized (statements) {
+                    statements.add(String.valueOf(sql).toLowerCase(Locale.ROOT));
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
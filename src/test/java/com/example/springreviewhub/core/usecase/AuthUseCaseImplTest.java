@@ -0,0 +1,103 @@
+package com.example.springreviewhub.core.usecase;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.core.domain.UserDomain;
+import com.example.springreviewhub.core.exception.AccountLockedException;
+import com.example.springreviewhub.core.exception.InvalidCredentialsException;
+import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import com.example.springreviewhub.core.interfaces.usecases.IAuthUseCase;
+import com.example.springreviewhub.infrastructure.database.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the login attempt limit against Redis, where the failed attempts are counted, and the database, where
+ * the lockout is written. The limit is the default of 3 attempts.
+ */
+class AuthUseCaseImplTest extends AbstractIntegrationTest {
+
+    private static final String PASSWORD = "correct-password";
+
+    @Autowired
+    private IAuthUseCase authUseCase;
+
+    @Autowired
+    private IRedisService redisService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void reportsTheRemainingAttemptsAfterAFailedLogin() {
+        User user = saveUserWithPassword();
+
+        assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, "wrong")))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Invalid username or password. Remaining attempts: 2");
+        assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, "wrong")))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Invalid username or password. Remaining attempts: 1");
+
+        assertThat(redisService.get(loginAttemptsKey(user))).isEqualTo("2");
+        assertThat(userJpaRepository.findById(user.getId()).orElseThrow().getFailedLoginAttempts()).isZero();
+    }
+
+    @Test
+    void locksTheAccountOnTheLastAllowedFailure() {
+        User user = saveUserWithPassword();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, "wrong")))
+                    .isInstanceOf(InvalidCredentialsException.class);
+        }
+        assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, "wrong")))
+                .isInstanceOf(AccountLockedException.class)
+                .hasMessage("Account locked due to multiple failed login attempts");
+
+        User locked = userJpaRepository.findById(user.getId()).orElseThrow();
+        assertThat(locked.isActive()).isFalse();
+        assertThat(locked.getFailedLoginAttempts()).isEqualTo(3);
+        assertThat(redisService.get(loginAttemptsKey(user))).isNull();
+
+        // Even the right password is refused once the account is locked
+        assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, PASSWORD)))
+                .isInstanceOf(AccountLockedException.class)
+                .hasMessage("Account is locked");
+    }
+
+    @Test
+    void resetsTheFailedAttemptsOnASuccessfulLogin() {
+        User user = saveUserWithPassword();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, "wrong")))
+                    .isInstanceOf(InvalidCredentialsException.class);
+        }
+
+        assertThat(authUseCase.authenticate(credentials(user, PASSWORD))).isNotBlank();
+        assertThat(redisService.get(loginAttemptsKey(user))).isNull();
+
+        assertThatThrownBy(() -> authUseCase.authenticate(credentials(user, "wrong")))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Invalid username or password. Remaining attempts: 2");
+    }
+
+    private User saveUserWithPassword() {
+        User user = saveUser();
+        return userJpaRepository.save(user.setPassword(passwordEncoder.encode(PASSWORD)));
+    }
+
+    private static UserDomain credentials(User user, String password) {
+        return new UserDomain()
+                .setUsername(user.getUsername())
+                .setPassword(password);
+    }
+
+    private static String loginAttemptsKey(User user) {
+        return String.format("login-attempts:%d", user.getId());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.springreviewhub.core.usecase;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.core.domain.RatingDistributionDomain;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.core.exception.NotFoundException;
+import com.example.springreviewhub.core.interfaces.usecases.IMovieUseCase;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.example.springreviewhub.infrastructure.rating.CoalescingRatingRefresher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the rating distribution follows the review writes once the rating refresher applied them.
+ */
+class MovieUseCaseImplRatingDistributionTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private IMovieUseCase movieUseCase;
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Autowired
+    private CoalescingRatingRefresher refresher;
+
+    @Test
+    void countsTheReviewsOfEveryRating() {
+        Long movieId = saveMovie().getId();
+        review(movieId, 8);
+        review(movieId, 8);
+        review(movieId, 5);
+        refresher.flush();
+
+        RatingDistributionDomain distribution =
+                movieUseCase.getRatingDistributionWithRole(movieId, Role.Reviewer.name());
+
+        assertThat(distribution.getReviewCounts()).containsExactly(0, 0, 0, 0, 1, 0, 0, 2, 0, 0);
+        assertThat(distribution.getTotalReviews()).isEqualTo(3);
+        assertThat(distribution.getAverageRating()).isEqualTo(new BigDecimal("7.0"));
+    }
+
+    @Test
+    void movesUpdatedReviewsAndDropsDeletedOnes() {
+        Long movieId = saveMovie().getId();
+        Long userId = saveUser().getId();
+        Long reviewId = reviewUseCase.createReview(userId, new ReviewDomain()
+                .setMovieId(movieId)
+                .setText("First opinion")
+                .setRating(2)).getId();
+        Long deletingUserId = saveUser().getId();
+        reviewUseCase.createReview(deletingUserId, new ReviewDomain()
+                .setMovieId(movieId)
+                .setText("Soon deleted")
+                .setRating(10));
+
+        reviewUseCase.updateReview(reviewId, userId, new ReviewDomain()
+                .setText("Second opinion")
+                .setRating(6));
+        reviewUseCase.deleteReviewByMovieId(movieId, deletingUserId);
+        refresher.flush();
+
+        RatingDistributionDomain distribution =
+                movieUseCase.getRatingDistributionWithRole(movieId, Role.Reviewer.name());
+
+        assertThat(distribution.getReviewCounts()).containsExactly(0, 0, 0, 0, 0, 1, 0, 0, 0, 0);
+        assertThat(distribution.getAverageRating()).isEqualTo(new BigDecimal("6.0"));
+    }
+
+    @Test
+    void isEmptyForAMovieWithoutReviews() {
+        Long movieId = saveMovie().getId();
+
+        RatingDistributionDomain distribution =
+                movieUseCase.getRatingDistributionWithRole(movieId, Role.Reviewer.name());
+
+        assertThat(distribution.getTotalReviews()).isZero();
+        assertThat(distribution.getAverageRating()).isNull();
+    }
+
+    @Test
+    void hidesTheDistributionOfADeletedMovieFromNonAdmins() {
+        Long movieId = saveMovie().getId();
+        review(movieId, 9);
+        movieUseCase.deleteMovie(movieId);
+        refresher.flush();
+
+        assertThatThrownBy(() -> movieUseCase.getRatingDistributionWithRole(movieId, Role.Reviewer.name()))
+                .isInstanceOf(NotFoundException.class);
+        // The reviews were deleted with the movie
+        assertThat(movieUseCase.getRatingDistributionWithRole(movieId, Role.Admin.name()).getTotalReviews())
+                .isZero();
+    }
+
+    private void review(Long movieId, int rating) {
+        reviewUseCase.createReview(saveUser().getId(), new ReviewDomain()
+                .setMovieId(movieId)
+                .setText("Rated " + rating)
+                .setRating(rating));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.springreviewhub.core.usecase;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.StatementCounter;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.interfaces.usecases.IMovieUseCase;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.example.springreviewhub.infrastructure.database.jpa.ReviewJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that deleting a movie issues the same statements whatever the number of its reviews.
+ */
+class MovieUseCaseImplStatementTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private IMovieUseCase movieUseCase;
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Test
+    void deletingAMovieDoesNotIssueAStatementPerReview() {
+        List<String> withOneReview = statementsOfDeletingAMovieWithReviews(1);
+        List<String> withManyReviews = statementsOfDeletingAMovieWithReviews(25);
+
+        assertThat(withManyReviews).hasSameSizeAs(withOneReview);
+        assertThat(StatementCounter.count("insert into movie_rating_deltas")).isEqualTo(1);
+    }
+
+    private List<String> statementsOfDeletingAMovieWithReviews(int reviews) {
+        Long movieId = saveMovie().getId();
+        for (int i = 0; i < reviews; i++) {
+            reviewUseCase.createReview(saveUser().getId(), new ReviewDomain()
+                    .setMovieId(movieId)
+                    .setText("Review " + i)
+                    .setRating(i % 10 + 1));
+        }
+
+        StatementCounter.reset();
+        movieUseCase.deleteMovie(movieId);
+        List<String> statements = StatementCounter.statements();
+
+        assertThat(reviewJpaRepository.findViewsByMovieIdIn(List.of(movieId)))
+                .hasSize(reviews)
+                .allSatisfy(review -> assertThat(review.getDeletedAt()).isNotNull());
+        return statements;
+    }
+}
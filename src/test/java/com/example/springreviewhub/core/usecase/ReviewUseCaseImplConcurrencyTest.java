@@ -0,0 +1,85 @@
+package com.example.springreviewhub.core.usecase;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.exception.DuplicateReviewException;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.example.springreviewhub.infrastructure.database.jpa.ReviewJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewUseCaseImplConcurrencyTest extends AbstractIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ATTEMPTS = 64;
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Test
+    void concurrentCreatesOfTheSamePairInsertExactlyOneReview() throws Exception {
+        Long userId = saveUser().getId();
+        Long movieId = saveMovie().getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                int rating = i % 10 + 1;
+                Callable<Boolean> attempt = () -> {
+                    start.await();
+                    try {
+                        reviewUseCase.createReview(userId, new ReviewDomain()
+                                .setMovieId(movieId)
+                                .setText("Double submit " + rating)
+                                .setRating(rating));
+                        return true;
+                    } catch (DuplicateReviewException e) {
+                        return false;
+                    }
+                };
+                attempts.add(executor.submit(attempt));
+            }
+
+            // Release every thread at once, so the inserts really overlap
+            start.countDown();
+
+            int created = 0;
+            int duplicates = 0;
+            for (Future<Boolean> attempt : attempts) {
+                try {
+                    if (attempt.get(30, TimeUnit.SECONDS)) {
+                        created++;
+                    } else {
+                        duplicates++;
+                    }
+                } catch (ExecutionException e) {
+                    throw new AssertionError("A create failed with something else than a duplicate", e.getCause());
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(duplicates).isEqualTo(ATTEMPTS - 1);
+            assertThat(reviewJpaRepository.findActiveUserMovieIdPairs(List.of(userId), List.of(movieId))).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
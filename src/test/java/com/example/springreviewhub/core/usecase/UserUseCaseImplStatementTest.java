@@ -0,0 +1,58 @@
+package com.example.springreviewhub.core.usecase;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.StatementCounter;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.example.springreviewhub.core.interfaces.usecases.IUserUseCase;
+import com.example.springreviewhub.infrastructure.database.jpa.ReviewJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that deleting a user issues the same statements whatever the number of reviewed movies: the rating
+ * changes of all the movies are submitted as one batch.
+ */
+class UserUseCaseImplStatementTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private IUserUseCase userUseCase;
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Test
+    void deletingAUserDoesNotIssueAStatementPerReviewedMovie() {
+        List<String> withOneMovie = statementsOfDeletingAUserWithReviewedMovies(1);
+        List<String> withManyMovies = statementsOfDeletingAUserWithReviewedMovies(25);
+
+        assertThat(withManyMovies).hasSameSizeAs(withOneMovie);
+        assertThat(StatementCounter.count("insert into movie_rating_deltas")).isEqualTo(1);
+    }
+
+    private List<String> statementsOfDeletingAUserWithReviewedMovies(int movies) {
+        Long userId = saveUser().getId();
+        for (int i = 0; i < movies; i++) {
+            reviewUseCase.createReview(userId, new ReviewDomain()
+                    .setMovieId(saveMovie().getId())
+                    .setText("Review " + i)
+                    .setRating(i % 10 + 1));
+        }
+
+        StatementCounter.reset();
+        userUseCase.deleteUser(userId);
+        List<String> statements = StatementCounter.statements();
+
+        assertThat(reviewJpaRepository.findViewsByUserIdIn(List.of(userId)))
+                .hasSize(movies)
+                .allSatisfy(review -> assertThat(review.getDeletedAt()).isNotNull());
+        return statements;
+    }
+}
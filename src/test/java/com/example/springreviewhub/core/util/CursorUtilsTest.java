@@ -0,0 +1,85 @@
+package com.example.springreviewhub.core.util;
+
+import com.example.springreviewhub.core.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilsTest {
+
+    @Test
+    void decodesTheIdItEncoded() {
+        String cursor = CursorUtils.encode(42L);
+
+        assertThat(CursorUtils.decodeId(cursor)).isEqualTo(42L);
+    }
+
+    @Test
+    void decodesEveryPartItEncodedInOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 12, 30, 15, 123_000_000);
+
+        String[] parts = CursorUtils.decode(CursorUtils.encode(createdAt, 7L), 2);
+
+        assertThat(parts).containsExactly(createdAt.toString(), "7");
+        assertThat(LocalDateTime.parse(parts[0])).isEqualTo(createdAt);
+    }
+
+    @Test
+    void encodesToAnUnpaddedUrlSafeToken() {
+        String cursor = CursorUtils.encode(LocalDateTime.of(2024, 5, 17, 12, 30), Long.MAX_VALUE);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsACursorThatIsNotBase64() {
+        assertThatThrownBy(() -> CursorUtils.decode("not a cursor!", 1))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsACursorWithAnotherNumberOfParts() {
+        String cursor = CursorUtils.encode(1L, 2L, 3L);
+
+        assertThatThrownBy(() -> CursorUtils.decode(cursor, 2))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsAnIdCursorThatIsNotANumber() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorUtils.decodeId(cursor))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void usesTheDefaultPageSizeWhenNoneIsRequested() {
+        assertThat(CursorUtils.pageLimit(null, 20, 100)).isEqualTo(20);
+    }
+
+    @Test
+    void capsTheRequestedPageSizeToTheMaximum() {
+        assertThat(CursorUtils.pageLimit(1, 20, 100)).isEqualTo(1);
+        assertThat(CursorUtils.pageLimit(100, 20, 100)).isEqualTo(100);
+        assertThat(CursorUtils.pageLimit(500, 20, 100)).isEqualTo(100);
+    }
+
+    @Test
+    void rejectsAPageSizeBelowOne() {
+        assertThatThrownBy(() -> CursorUtils.pageLimit(0, 20, 100))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Limit must be at least 1");
+        assertThatThrownBy(() -> CursorUtils.pageLimit(-5, 20, 100))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
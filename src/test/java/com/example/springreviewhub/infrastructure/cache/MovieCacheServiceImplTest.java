@@ -0,0 +1,165 @@
+package com.example.springreviewhub.infrastructure.cache;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.core.domain.MovieDomain;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.domain.Role;
+import com.example.springreviewhub.core.interfaces.services.IMovieCacheService;
+import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import com.example.springreviewhub.core.interfaces.usecases.IMovieUseCase;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the movie detail cache against Redis. Every test works on its own movie, so the tombstones left by
+ * one test never affect another. A second node is simulated by a second instance sharing Redis and the
+ * listener container.
+ */
+class MovieCacheServiceImplTest extends AbstractIntegrationTest {
+
+    private static final String ROLE = Role.Reviewer.name();
+
+    @Autowired
+    private IMovieCacheService movieCacheService;
+
+    @Autowired
+    private IRedisService redisService;
+
+    @Autowired
+    private IMovieUseCase movieUseCase;
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Test
+    void returnsAPutMovieUntilItIsEvicted() {
+        Long movieId = saveMovie().getId();
+        assertThat(movieCacheService.get(movieId, ROLE, false)).isEmpty();
+
+        movieCacheService.put(ROLE, false, new MovieDomain().setId(movieId).setTitle("Cached"));
+
+        assertThat(movieCacheService.get(movieId, ROLE, false)).hasValueSatisfying(movie ->
+                assertThat(movie.getTitle()).isEqualTo("Cached"));
+        // Cached per role and review inclusion
+        assertThat(movieCacheService.get(movieId, ROLE, true)).isEmpty();
+        assertThat(movieCacheService.get(movieId, Role.Admin.name(), false)).isEmpty();
+
+        movieCacheService.evict(movieId);
+
+        assertThat(movieCacheService.get(movieId, ROLE, false)).isEmpty();
+        assertThat(redisService.get(key(movieId))).isNull();
+    }
+
+    @Test
+    void skipsPutsWhileTheTombstoneOfAnEvictionLives() {
+        Long movieId = saveMovie().getId();
+        movieCacheService.put(ROLE, false, new MovieDomain().setId(movieId).setTitle("Before the write"));
+
+        movieCacheService.evict(movieId);
+        // A reader that loaded the movie before the write puts it back late
+        movieCacheService.put(ROLE, false, new MovieDomain().setId(movieId).setTitle("Before the write"));
+
+        assertThat(movieCacheService.get(movieId, ROLE, false)).isEmpty();
+        assertThat(redisService.get(key(movieId))).isNull();
+    }
+
+    @Test
+    void updatingAMovieInvalidatesItsDetail() {
+        Long movieId = saveMovie().getId();
+        assertThat(movieUseCase.getMovieByIdWithRole(movieId, ROLE, false).getTitle()).startsWith("Movie ");
+
+        movieUseCase.updateMovie(movieId, movieUseCase.getMovieById(movieId, false).setTitle("Renamed"));
+
+        assertThat(movieCacheService.get(movieId, ROLE, false)).isEmpty();
+        assertThat(movieUseCase.getMovieByIdWithRole(movieId, ROLE, false).getTitle()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void writingAReviewInvalidatesTheDetailOfItsMovie() {
+        Long movieId = saveMovie().getId();
+        assertThat(movieUseCase.getMovieByIdWithRole(movieId, ROLE, true).getReviews()).isEmpty();
+
+        reviewUseCase.createReview(saveUser().getId(), new ReviewDomain()
+                .setMovieId(movieId)
+                .setText("Worth a cache eviction")
+                .setRating(8));
+
+        assertThat(movieCacheService.get(movieId, ROLE, true)).isEmpty();
+        assertThat(movieUseCase.getMovieByIdWithRole(movieId, ROLE, true).getReviews()).hasSize(1);
+    }
+
+    @Test
+    void servesTheLocalCopyWithoutGoingToRedis() {
+        Long movieId = saveMovie().getId();
+        movieCacheService.put(ROLE, false, new MovieDomain().setId(movieId).setTitle("Hot"));
+
+        // Gone from Redis without an invalidation, as when the Redis entry expires first
+        redisService.del(key(movieId));
+
+        assertThat(movieCacheService.get(movieId, ROLE, false)).hasValueSatisfying(movie ->
+                assertThat(movie.getTitle()).isEqualTo("Hot"));
+    }
+
+    @Test
+    void dropsTheLocalCopyWhenAnotherNodeEvicts() throws InterruptedException {
+        MovieCacheServiceImpl otherNode = subscribedNode();
+        Long movieId = saveMovie().getId();
+        movieCacheService.put(ROLE, false, new MovieDomain().setId(movieId).setTitle("Shared"));
+        // Read through Redis, which keeps a local copy on the other node
+        assertThat(otherNode.get(movieId, ROLE, false)).isPresent();
+
+        movieCacheService.evict(movieId);
+
+        assertThat(awaitEmpty(() -> otherNode.get(movieId, ROLE, false))).isTrue();
+    }
+
+    /**
+     * Starts a second cache, as on another node, and waits until it receives the invalidations.
+     */
+    private MovieCacheServiceImpl subscribedNode() throws InterruptedException {
+        MovieCacheServiceImpl node = new MovieCacheServiceImpl(redisService, objectMapper, new SimpleMeterRegistry(),
+                listenerContainer, Duration.ofMinutes(10), Duration.ofSeconds(5), DataSize.ofMegabytes(1),
+                Duration.ofMinutes(1));
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Long probeId = saveMovie().getId();
+            node.put(ROLE, false, new MovieDomain().setId(probeId).setTitle("Probe"));
+            movieCacheService.evict(probeId);
+            if (awaitEmpty(() -> node.get(probeId, ROLE, false))) {
+                return node;
+            }
+        }
+        throw new AssertionError("The second cache never received an invalidation");
+    }
+
+    private static boolean awaitEmpty(Supplier<Optional<MovieDomain>> lookup) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (lookup.get().isEmpty()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static String key(Long movieId) {
+        return String.format("movie-detail:%d:%s:plain", movieId, ROLE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.springreviewhub.infrastructure.database.repository;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.StatementCounter;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that review writes only touch the review row: the movie and the user are referenced by ID and
+ * are neither read nor written.
+ */
+class ReviewRepositoryImplStatementTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Test
+    void updatingAReviewIsOneUpdateOfTheReviewRow() {
+        Long userId = saveUser().getId();
+        Long movieId = saveMovie().getId();
+        Long reviewId = reviewUseCase.createReview(userId, new ReviewDomain()
+                .setMovieId(movieId)
+                .setText("Before")
+                .setRating(4)).getId();
+
+        StatementCounter.reset();
+        ReviewDomain updated = reviewUseCase.updateReview(reviewId, userId, new ReviewDomain()
+                .setText("After")
+                .setRating(9));
+
+        assertThat(updated.getText()).isEqualTo("After");
+        assertThat(updated.getRating()).isEqualTo(9);
+        assertThat(StatementCounter.count("update reviews")).isEqualTo(1);
+        // The update, the projection returned to the caller and the pending rating change
+        assertThat(StatementCounter.statements()).hasSize(3);
+        assertThat(StatementCounter.count("insert into movie_rating_deltas")).isEqualTo(1);
+        assertNoMovieOrUserStatement();
+    }
+
+    private static void assertNoMovieOrUserStatement() {
+        assertThat(StatementCounter.count("from movies")).isZero();
+        assertThat(StatementCounter.count("from users")).isZero();
+        assertThat(StatementCounter.count("update movies")).isZero();
+        assertThat(StatementCounter.count("update users")).isZero();
+    }
+}
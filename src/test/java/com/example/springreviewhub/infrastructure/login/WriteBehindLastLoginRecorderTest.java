@@ -0,0 +1,194 @@
+package com.example.springreviewhub.infrastructure.login;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WriteBehindLastLoginRecorderTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // The logins written by each statement, in order
+    private final List<Map<Long, LocalDateTime>> statements = new ArrayList<>();
+
+    private WriteBehindLastLoginRecorder recorder;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (recorder != null) {
+            recorder.shutdown();
+        }
+    }
+
+    @Test
+    void writesOnlyTheLatestLoginOfEachUser() {
+        recorder = recorder(1000, 100);
+        captureWrites();
+
+        recorder.record(1L, NOW);
+        recorder.record(1L, NOW.minusHours(1));
+        recorder.record(2L, NOW.minusMinutes(5));
+        recorder.record(2L, NOW);
+        recorder.flush();
+
+        assertThat(statements).containsExactly(Map.of(1L, NOW, 2L, NOW));
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void writesNothingWhenNoLoginIsPending() {
+        recorder = recorder(1000, 100);
+
+        recorder.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void dropsLoginsOfNewUsersOnceAtCapacity() {
+        recorder = recorder(1000, 2);
+        captureWrites();
+
+        recorder.record(1L, NOW);
+        recorder.record(2L, NOW);
+        recorder.record(3L, NOW);
+        // Users already pending are still updated
+        recorder.record(1L, NOW.plusMinutes(1));
+        recorder.flush();
+
+        assertThat(statements).containsExactly(Map.of(1L, NOW.plusMinutes(1), 2L, NOW));
+        assertThat(meterRegistry.get("user.last-login.dropped").counter().count()).isEqualTo(1.0);
+
+        // Room is made by the flush
+        recorder.record(3L, NOW);
+        assertThat(pending()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsTheLoginsOfAFailedFlushPending() {
+        recorder = recorder(1000, 100);
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(jdbcTemplate).update(any(PreparedStatementCreator.class));
+
+        recorder.record(1L, NOW);
+        recorder.record(2L, NOW);
+        assertThatThrownBy(recorder::flush).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(pending()).isEqualTo(2);
+
+        // Merged with the logins put back, the most recent one still wins
+        recorder.record(1L, NOW.minusDays(1));
+        recorder.record(3L, NOW);
+        captureWrites();
+        recorder.flush();
+
+        assertThat(statements).containsExactly(Map.of(1L, NOW, 2L, NOW, 3L, NOW));
+    }
+
+    @Test
+    void writesLargeBatchesInChunks() {
+        recorder = recorder(10_000, 10_000);
+        captureWrites();
+
+        for (long userId = 1; userId <= 2500; userId++) {
+            recorder.record(userId, NOW);
+        }
+        recorder.flush();
+
+        assertThat(statements).hasSize(3);
+        assertThat(statements).extracting(Map::size).containsExactly(1000, 1000, 500);
+    }
+
+    @Test
+    void flushesInTheBackgroundOnceMaxPendingIsReached() {
+        recorder = recorder(2, 100);
+        captureWrites();
+
+        recorder.record(1L, NOW);
+        recorder.record(2L, NOW);
+
+        verify(jdbcTemplate, timeout(5000)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void flushesThePendingLoginsOnShutdown() throws InterruptedException {
+        recorder = recorder(1000, 100);
+        captureWrites();
+
+        recorder.record(1L, NOW);
+        recorder.shutdown();
+
+        assertThat(statements).containsExactly(Map.of(1L, NOW));
+    }
+
+    private WriteBehindLastLoginRecorder recorder(int maxPending, int capacity) {
+        // A window long enough to never flush during a test on its own
+        return new WriteBehindLastLoginRecorder(jdbcTemplate, meterRegistry, Duration.ofHours(1), maxPending, capacity);
+    }
+
+    /**
+     * Runs the statements of the recorder against a mocked connection and records the logins they write.
+     */
+    private void captureWrites() {
+        doAnswer(invocation -> {
+            Object[][] arrays = new Object[2][];
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+            when(connection.createArrayOf(eq("bigint"), any())).thenAnswer(array -> {
+                arrays[0] = array.getArgument(1);
+                return mock(Array.class);
+            });
+            when(connection.createArrayOf(eq("timestamp"), any())).thenAnswer(array -> {
+                arrays[1] = array.getArgument(1);
+                return mock(Array.class);
+            });
+
+            PreparedStatementCreator creator = invocation.getArgument(0);
+            creator.createPreparedStatement(connection);
+
+            Map<Long, LocalDateTime> logins = new HashMap<>();
+            for (int i = 0; i < arrays[0].length; i++) {
+                logins.put((Long) arrays[0][i], ((Timestamp) arrays[1][i]).toLocalDateTime());
+            }
+            synchronized (statements) {
+                statements.add(logins);
+            }
+            return logins.size();
+        }).when(jdbcTemplate).update(any(PreparedStatementCreator.class));
+    }
+
+    private double pending() {
+        return meterRegistry.get("user.last-login.pending").gauge().value();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.springreviewhub.infrastructure.rating;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the refresher against the database, where its pending changes live.
+ */
+class CoalescingRatingRefresherTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CoalescingRatingRefresher refresher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void foldsTheChangesOfAMovieIntoItsAggregatesAndHistogram() {
+        Long movieId = saveMovie().getId();
+
+        refresher.submit(movieId, deltas(8, 1));
+        refresher.submit(movieId, deltas(6, 1));
+        // A rating changed from 8 to 10
+        refresher.submitAll(Map.of(movieId, deltas(8, -1, 10, 1)));
+
+        assertThat(pendingChanges(movieId)).isEqualTo(4);
+
+        refresher.flush();
+
+        assertThat(pendingChanges(movieId)).isZero();
+        assertThat(aggregates(movieId)).containsExactly(16L, 2, new BigDecimal("8.0"));
+        assertThat(histogram(movieId)).containsOnly(Map.entry(6, 1L), Map.entry(10, 1L));
+    }
+
+    @Test
+    void dropsTheChangesOfARolledBackTransaction() {
+        Long movieId = saveMovie().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            refresher.submit(movieId, deltas(7, 1));
+            status.setRollbackOnly();
+        });
+        refresher.flush();
+
+        assertThat(pendingChanges(movieId)).isZero();
+        assertThat(aggregates(movieId)).containsExactly(0L, 0, null);
+    }
+
+    @Test
+    void appliesEveryChangeOnceWhenFlushedConcurrently() throws Exception {
+        List<Long> movieIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movieIds.add(saveMovie().getId());
+        }
+        for (int i = 0; i < 200; i++) {
+            refresher.submit(movieIds.get(i % movieIds.size()), deltas(1 + i % 10, 1));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> flushes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Callable<Void> flush = () -> {
+                    start.await();
+                    refresher.flush();
+                    return null;
+                };
+                flushes.add(executor.submit(flush));
+            }
+            start.countDown();
+            for (Future<Void> flush : flushes) {
+                flush.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Long movieId : movieIds) {
+            assertThat(pendingChanges(movieId)).isZero();
+            assertThat(aggregates(movieId).get(1)).isEqualTo(20);
+            assertThat(histogram(movieId).values().stream().mapToLong(Long::longValue).sum()).isEqualTo(20L);
+        }
+    }
+
+    private static int[] deltas(int... ratingsAndCounts) {
+        int[] deltas = new int[ReviewDomain.MAX_RATING - ReviewDomain.MIN_RATING + 1];
+        for (int i = 0; i < ratingsAndCounts.length; i += 2) {
+            deltas[ratingsAndCounts[i] - ReviewDomain.MIN_RATING] += ratingsAndCounts[i + 1];
+        }
+        return deltas;
+    }
+
+    private int pendingChanges(Long movieId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movie_rating_deltas WHERE movie_id = ?", Integer.class, movieId);
+    }
+
+    private List<Object> aggregates(Long movieId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT rating_sum, rating_count, rating FROM movies WHERE id = ?",
+                (row, rowNumber) -> {
+                    List<Object> values = new ArrayList<>();
+                    values.add(row.getLong(1));
+                    values.add(row.getInt(2));
+                    values.add(row.getBigDecimal(3));
+                    return values;
+                },
+                movieId);
+    }
+
+    private Map<Integer, Long> histogram(Long movieId) {
+        Map<Integer, Long> histogram = new HashMap<>();
+        jdbcTemplate.query("SELECT rating, review_count FROM movie_rating_histograms WHERE movie_id = ?",
+                row -> {
+                    histogram.put(row.getInt(1), row.getLong(2));
+                },
+                movieId);
+        return histogram;
+    }
+}
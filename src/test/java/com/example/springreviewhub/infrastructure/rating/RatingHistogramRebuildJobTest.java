@@ -0,0 +1,96 @@
+package com.example.springreviewhub.infrastructure.rating;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import com.example.springreviewhub.core.domain.ReviewDomain;
+import com.example.springreviewhub.core.interfaces.usecases.IReviewUseCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the rebuild against the database, next to the rating refresher whose pending changes it leaves out.
+ */
+class RatingHistogramRebuildJobTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RatingHistogramRebuildJob rebuildJob;
+
+    @Autowired
+    private CoalescingRatingRefresher refresher;
+
+    @Autowired
+    private IReviewUseCase reviewUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildsDriftedHistogramsFromTheReviews() {
+        Long movieId = saveMovie().getId();
+        review(movieId, 7);
+        review(movieId, 7);
+        review(movieId, 3);
+        refresher.flush();
+
+        // Drift as left by reviews changed outside of the application
+        jdbcTemplate.update("UPDATE movie_rating_histograms SET review_count = 42 WHERE movie_id = ?", movieId);
+        jdbcTemplate.update("INSERT INTO movie_rating_histograms (movie_id, rating, review_count) VALUES (?, 1, 5)",
+                movieId);
+
+        rebuildJob.rebuild();
+
+        assertThat(histogram(movieId)).containsOnly(Map.entry(3, 1L), Map.entry(7, 2L));
+    }
+
+    @Test
+    void leavesPendingChangesToTheRefresher() {
+        Long movieId = saveMovie().getId();
+        review(movieId, 9);
+        refresher.flush();
+        // Committed but not folded yet
+        review(movieId, 9);
+        review(movieId, 4);
+
+        rebuildJob.rebuild();
+
+        assertThat(histogram(movieId)).containsOnly(Map.entry(9, 1L));
+
+        refresher.flush();
+
+        // Every change is counted once, by the refresher
+        assertThat(histogram(movieId)).containsOnly(Map.entry(4, 1L), Map.entry(9, 2L));
+    }
+
+    @Test
+    void dropsTheHistogramOfAMovieWithoutReviews() {
+        Long movieId = saveMovie().getId();
+        jdbcTemplate.update("INSERT INTO movie_rating_histograms (movie_id, rating, review_count) VALUES (?, 5, 3)",
+                movieId);
+
+        rebuildJob.rebuild();
+
+        assertThat(histogram(movieId)).isEmpty();
+    }
+
+    private void review(Long movieId, int rating) {
+        reviewUseCase.createReview(saveUser().getId(), new ReviewDomain()
+                .setMovieId(movieId)
+                .setText("Rated " + rating)
+                .setRating(rating));
+    }
+
+    private Map<Integer, Long> histogram(Long movieId) {
+        Map<Integer, Long> histogram = new HashMap<>();
+        jdbcTemplate.query("SELECT rating, review_count FROM movie_rating_histograms WHERE movie_id = ?",
+                row -> {
+                    histogram.put(row.getInt(1), row.getLong(2));
+                },
+                movieId);
+        return histogram;
+    }
+}
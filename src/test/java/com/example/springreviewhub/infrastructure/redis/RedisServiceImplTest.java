@@ -0,0 +1,44 @@
+package com.example.springreviewhub.infrastructure.redis;
+
+import com.example.springreviewhub.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisServiceImplTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RedisServiceImpl redisService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    void incrementSetsTheExpirationOnTheFirstIncrementOnly() {
+        String key = "counter:" + UUID.randomUUID();
+
+        assertThat(redisService.increment(key, 60, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(redisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isBetween(1L, 60_000L);
+
+        // A later increment neither extends the window nor removes its expiration
+        assertThat(redisService.increment(key, 1, TimeUnit.HOURS)).isEqualTo(2);
+        assertThat(redisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isBetween(1L, 60_000L);
+    }
+
+    @Test
+    void incrementStartsOverOnceTheCounterIsDeleted() {
+        String key = "counter:" + UUID.randomUUID();
+
+        redisService.increment(key, 60, TimeUnit.SECONDS);
+        redisService.increment(key, 60, TimeUnit.SECONDS);
+        redisService.del(key);
+
+        assertThat(redisService.increment(key, 60, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(redisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isBetween(1L, 60_000L);
+    }
+}
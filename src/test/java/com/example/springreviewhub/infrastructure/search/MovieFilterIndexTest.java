@@ -0,0 +1,173 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieFilterIndexTest {
+
+    private final MovieFilterIndex index = new MovieFilterIndex();
+
+    @Test
+    void matchesGenresPartiallyAndIgnoringCase() {
+        index.index(movie(1L, "Sci-Fi, Action", null, null));
+        index.index(movie(2L, "Drama", null, null));
+        index.index(movie(3L, "Science Documentary", null, null));
+        index.markReady();
+
+        assertThat(filterGenre("sci")).containsExactly(1L, 3L);
+        assertThat(filterGenre("ACTION")).containsExactly(1L);
+        assertThat(filterGenre("western")).isEmpty();
+    }
+
+    @Test
+    void filtersReleaseDatesInclusively() {
+        index.index(movie(1L, "Drama", LocalDate.of(1999, 12, 31), null));
+        index.index(movie(2L, "Drama", LocalDate.of(2000, 1, 1), null));
+        index.index(movie(3L, "Drama", LocalDate.of(2000, 12, 31), null));
+        index.index(movie(4L, "Drama", null, null));
+        index.markReady();
+
+        assertThat(index.filter(null, false, null, null, LocalDate.of(2000, 1, 1), LocalDate.of(2000, 12, 31)))
+                .containsExactly(2L, 3L);
+        assertThat(index.filter(null, false, null, null, null, LocalDate.of(2000, 1, 1)))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void excludesSoftDeletedMoviesUnlessAsked() {
+        index.index(movie(1L, "Drama", null, null));
+        index.index(movie(2L, "Drama", null, null).setDeletedAt(LocalDateTime.now()));
+        index.index(movie(3L, "Drama", null, null));
+        index.markReady();
+        index.markDeleted(3L);
+
+        assertThat(index.filter(null, false, null, null, null, null)).containsExactly(1L);
+        assertThat(index.filter(null, true, null, null, null, null)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void keepsTheOrderOfTheCandidates() {
+        index.index(movie(1L, "Drama", null, "8.0"));
+        index.index(movie(2L, "Drama", null, "6.0"));
+        index.index(movie(3L, "Drama", null, "9.0"));
+        index.markReady();
+
+        assertThat(index.filter(List.of(3L, 99L, 2L, 1L), false, null, new BigDecimal("7.0"), null, null))
+                .containsExactly(3L, 1L);
+    }
+
+    @Test
+    void seesRatingsUpdatedBeforeAndAfterTheIndexIsReady() {
+        index.index(movie(1L, "Drama", null, "5.0"));
+        index.index(movie(2L, "Drama", null, null));
+        index.updateRating(2L, new BigDecimal("9.5"));
+        index.markReady();
+
+        assertThat(filterMinRating("9.0")).containsExactly(2L);
+
+        index.updateRating(1L, new BigDecimal("9.9"));
+        index.updateRating(2L, null);
+
+        assertThat(filterMinRating("9.0")).containsExactly(1L);
+        assertThat(filterMinRating("1.0")).containsExactly(1L);
+    }
+
+    @Test
+    void movedRatingsAndDatesMatchAFullScan() {
+        Random random = new Random(42);
+        Map<Long, Integer> ratings = new HashMap<>();
+        Map<Long, LocalDate> releaseDates = new HashMap<>();
+
+        for (long id = 1; id <= 300; id++) {
+            Integer rating = randomRating(random);
+            LocalDate releaseDate = randomDate(random);
+            ratings.put(id, rating);
+            releaseDates.put(id, releaseDate);
+            index.index(movie(id, "Drama", releaseDate, rating != null ? tenths(rating) : null));
+        }
+        index.markReady();
+        assertMatchesFullScan(ratings, releaseDates);
+
+        for (int change = 0; change < 2000; change++) {
+            long id = 1 + random.nextInt(300);
+            Integer rating = randomRating(random);
+            ratings.put(id, rating);
+            if (random.nextBoolean()) {
+                index.updateRating(id, rating != null ? new BigDecimal(tenths(rating)) : null);
+            } else {
+                LocalDate releaseDate = randomDate(random);
+                releaseDates.put(id, releaseDate);
+                index.index(movie(id, "Drama", releaseDate, rating != null ? tenths(rating) : null));
+            }
+
+            if (change % 100 == 0) {
+                assertMatchesFullScan(ratings, releaseDates);
+            }
+        }
+        assertMatchesFullScan(ratings, releaseDates);
+    }
+
+    private void assertMatchesFullScan(Map<Long, Integer> ratings, Map<Long, LocalDate> releaseDates) {
+        for (int minRating = 10; minRating <= 100; minRating += 9) {
+            List<Long> expected = new ArrayList<>();
+            for (long id = 1; id <= ratings.size(); id++) {
+                if (ratings.get(id) != null && ratings.get(id) >= minRating) {
+                    expected.add(id);
+                }
+            }
+            assertThat(filterMinRating(tenths(minRating))).as("rating >= %s", tenths(minRating))
+                    .containsExactlyElementsOf(expected);
+        }
+
+        LocalDate start = LocalDate.of(1990, 1, 1);
+        LocalDate end = LocalDate.of(2005, 6, 30);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= releaseDates.size(); id++) {
+            LocalDate releaseDate = releaseDates.get(id);
+            if (releaseDate != null && !releaseDate.isBefore(start) && !releaseDate.isAfter(end)) {
+                expected.add(id);
+            }
+        }
+        assertThat(index.filter(null, false, null, null, start, end)).containsExactlyElementsOf(expected);
+    }
+
+    private List<Long> filterGenre(String genre) {
+        return index.filter(null, false, genre, null, null, null);
+    }
+
+    private List<Long> filterMinRating(String minRating) {
+        return index.filter(null, false, null, new BigDecimal(minRating), null, null);
+    }
+
+    private static Integer randomRating(Random random) {
+        // Few distinct values, so many movies share a rating, and sometimes none at all
+        return random.nextInt(8) == 0 ? null : 10 + 10 * random.nextInt(10);
+    }
+
+    private static LocalDate randomDate(Random random) {
+        return random.nextInt(10) == 0 ? null : LocalDate.of(1980 + random.nextInt(40), 1 + random.nextInt(12), 1);
+    }
+
+    private static String tenths(int value) {
+        return BigDecimal.valueOf(value, 1).toPlainString();
+    }
+
+    private static MovieDomain movie(Long id, String genre, LocalDate releaseDate, String rating) {
+        return new MovieDomain()
+                .setId(id)
+                .setGenre(genre)
+                .setReleaseDate(releaseDate)
+                .setRating(rating != null ? new BigDecimal(rating) : null);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import com.example.springreviewhub.core.domain.MovieDomain;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchIndexTest {
+
+    private final MovieSearchIndex index = new MovieSearchIndex();
+
+    @Test
+    void requiresEveryQueryTerm() {
+        index.index(movie(1L, "The Dark Knight", "Christopher Nolan", "Batman fights the Joker."));
+        index.index(movie(2L, "The Dark Crystal", "Jim Henson", "A Gelfling restores the crystal."));
+
+        assertThat(index.search("dark knight", false)).containsExactly(1L);
+        assertThat(index.search("dark", false)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("dark unicorn", false)).isEmpty();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        index.index(movie(1L, "A quiet evening", "Someone", "A film about a heist gone wrong."));
+        index.index(movie(2L, "The Heist", "Someone Else", "A quiet evening at home."));
+
+        assertThat(index.search("heist", false)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void matchesTheLastTermAsAPrefix() {
+        index.index(movie(1L, "The Godfather", "Francis Ford Coppola", "A crime family saga."));
+        index.index(movie(2L, "Goodfellas", "Martin Scorsese", "A crime story."));
+
+        assertThat(index.search("godf", false)).containsExactly(1L);
+        assertThat(index.search("crime go", false)).containsExactlyInAnyOrder(1L, 2L);
+        // Only the last term is a prefix
+        assertThat(index.search("godf crime", false)).isEmpty();
+    }
+
+    @Test
+    void mergesEveryTermOfAShortPrefix() {
+        // More distinct terms share the prefix than a capped expansion would visit
+        LongStream.rangeClosed(1, 200).forEach(id ->
+                index.index(movie(id, "Sequel" + id, "Director", "Description")));
+
+        assertThat(index.search("seq", false)).hasSize(200);
+    }
+
+    @Test
+    void matchesAccentedAndUnaccentedSpellings() {
+        index.index(movie(1L, "Am\u00e9lie", "Jean-Pierre Jeunet", "A shy waitress in Montmartre."));
+
+        assertThat(index.search("amelie", false)).containsExactly(1L);
+        assertThat(index.search("JEUNET Am\u00e9lie", false)).containsExactly(1L);
+    }
+
+    @Test
+    void reindexingAMovieReplacesItsTerms() {
+        index.index(movie(1L, "Working Title", "Director", "Description"));
+        index.index(movie(1L, "Final Title", "Director", "Description"));
+
+        assertThat(index.search("working", false)).isEmpty();
+        assertThat(index.search("final", false)).containsExactly(1L);
+    }
+
+    @Test
+    void returnsSoftDeletedMoviesOnlyWhenAsked() {
+        index.index(movie(1L, "Alien", "Ridley Scott", "In space no one can hear you scream."));
+        index.index(movie(2L, "Aliens", "James Cameron", "This time it's war."));
+        index.markDeleted(2L);
+
+        assertThat(index.search("alien", false)).containsExactly(1L);
+        assertThat(index.search("alien", true)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void indexingADeletedMovieMarksItDeleted() {
+        index.index(movie(1L, "Alien", "Ridley Scott", "Space horror.").setDeletedAt(LocalDateTime.now()));
+
+        assertThat(index.search("alien", false)).isEmpty();
+        assertThat(index.search("alien", true)).containsExactly(1L);
+    }
+
+    @Test
+    void returnsNothingForAnEmptyQueryOrIndex() {
+        assertThat(index.search("anything", true)).isEmpty();
+
+        index.index(movie(1L, "Alien", "Ridley Scott", "Space horror."));
+
+        assertThat(index.search("  ", true)).isEmpty();
+        assertThat(index.search(null, true)).isEqualTo(List.of());
+    }
+
+    private static MovieDomain movie(Long id, String title, String director, String description) {
+        return new MovieDomain()
+                .setId(id)
+                .setTitle(title)
+                .setDirector(director)
+                .setDescription(description);
+    }
+}
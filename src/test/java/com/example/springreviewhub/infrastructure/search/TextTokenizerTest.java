@@ -0,0 +1,39 @@
+package com.example.springreviewhub.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextTokenizerTest {
+
+    @Test
+    void splitsOnEverythingButLettersAndDigits() {
+        assertThat(TextTokenizer.tokenize("Star Wars: Episode IV - A New Hope (1977)"))
+                .containsExactly("star", "wars", "episode", "iv", "a", "new", "hope", "1977");
+    }
+
+    @Test
+    void stripsDiacriticsAndLowerCases() {
+        assertThat(TextTokenizer.tokenize("Am\u00e9lie AM\u00c9LIE \u00c1melie"))
+                .containsExactly("amelie", "amelie", "amelie");
+    }
+
+    @Test
+    void decomposesCompatibilityCharacters() {
+        assertThat(TextTokenizer.tokenize("\ufb01lm")).containsExactly("film");
+    }
+
+    @Test
+    void keepsLettersOfOtherScripts() {
+        String title = "\u5343\u3068\u5343\u5c0b\u306e\u795e\u96a0\u3057";
+
+        assertThat(TextTokenizer.tokenize(title + ", 2001")).containsExactly(title, "2001");
+    }
+
+    @Test
+    void returnsNoTermForNullOrBlankText() {
+        assertThat(TextTokenizer.tokenize(null)).isEmpty();
+        assertThat(TextTokenizer.tokenize("   ")).isEmpty();
+        assertThat(TextTokenizer.tokenize("-- !! --")).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void containsEveryAddedKey() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+
+        LongStream.rangeClosed(1, 10_000).forEach(filter::add);
+
+        assertThat(LongStream.rangeClosed(1, 10_000).allMatch(filter::mightContain)).isTrue();
+    }
+
+    @Test
+    void containsNothingWhenEmpty() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(LongStream.rangeClosed(-1000, 1000).noneMatch(filter::mightContain)).isTrue();
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheTargetRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        // Sequential IDs, as user IDs are
+        LongStream.rangeClosed(1, 10_000).forEach(filter::add);
+
+        long falsePositives = LongStream.rangeClosed(1_000_001, 1_100_000).filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void keepsEveryKeyAddedConcurrently() throws Exception {
+        BloomFilter filter = new BloomFilter(80_000, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                long first = thread * 10_000L;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    LongStream.range(first, first + 10_000).forEach(filter::add);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(LongStream.range(0, 80_000).allMatch(filter::mightContain)).isTrue();
+    }
+}
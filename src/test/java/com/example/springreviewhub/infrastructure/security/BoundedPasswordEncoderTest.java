@@ -0,0 +1,124 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import com.example.springreviewhub.core.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoundedPasswordEncoderTest {
+
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Holds the hashes of the delegate until it is released
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void hashesOnItsOwnThreads() {
+        encoder = encoder(2, 10, Duration.ofSeconds(5));
+        when(delegate.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+
+        assertThat(encoder.encode("secret")).startsWith("password-hash-");
+        assertThat(encoder.matches("secret", "hash")).isTrue();
+        assertThat(meterRegistry.get("password.hash.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRightAwayOnceThePoolAndTheQueueAreFull() throws Exception {
+        encoder = encoder(1, 1, Duration.ofSeconds(30));
+        CountDownLatch started = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueueSize(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting(e -> ((ServiceUnavailableException) e).getRetryAfterSeconds())
+                .isEqualTo(7L);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    @Test
+    void givesUpOnAHashWaitingLongerThanTheMaximum() {
+        encoder = encoder(1, 10, Duration.ofMillis(100));
+        when(delegate.matches(any(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+
+        assertThatThrownBy(() -> encoder.matches("secret", "hash"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rethrowsTheExceptionsOfTheDelegate() {
+        encoder = encoder(1, 10, Duration.ofSeconds(5));
+        when(delegate.encode(any())).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("rawPassword cannot be null");
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    void asksTheDelegateWhetherToUpgradeAHash() {
+        encoder = encoder(1, 10, Duration.ofSeconds(5));
+        when(delegate.upgradeEncoding("old-hash")).thenReturn(true);
+
+        assertThat(encoder.upgradeEncoding("old-hash")).isTrue();
+    }
+
+    private BoundedPasswordEncoder encoder(int threads, int queueCapacity, Duration maxWait) {
+        return new BoundedPasswordEncoder(delegate, threads, queueCapacity, maxWait, Duration.ofSeconds(7),
+                meterRegistry);
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue").gauge().value() < size) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
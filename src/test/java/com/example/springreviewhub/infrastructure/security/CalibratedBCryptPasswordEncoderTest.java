@@ -0,0 +1,65 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Test
+    void hashesWithItsCostFactor() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        String hash = encoder.encode(PASSWORD);
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void upgradesHashesOfALowerOrHigherCostFactor() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode(PASSWORD))).isTrue();
+    }
+
+    @Test
+    void recognizesEveryBCryptVersion() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(12);
+
+        assertThat(encoder.upgradeEncoding("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy")).isTrue();
+        assertThat(encoder.upgradeEncoding("$2b$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy")).isTrue();
+        assertThat(encoder.upgradeEncoding("$2y$12$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy")).isFalse();
+    }
+
+    @Test
+    void leavesMissingAndForeignHashesAlone() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("")).isFalse();
+        assertThat(encoder.upgradeEncoding("{noop}plain-text")).isFalse();
+    }
+
+    @Test
+    void neverUpgradesWhenRehashingIsDisabled() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5, false);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(PASSWORD))).isFalse();
+        assertThat(encoder.matches(PASSWORD, new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+    }
+
+    @Test
+    void calibratesWithinTheBounds() {
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(4, 5, Duration.ofMinutes(1))).isEqualTo(5);
+        // The minimum is used even when it is slower than the target
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(4, 8, Duration.ZERO)).isEqualTo(4);
+    }
+}
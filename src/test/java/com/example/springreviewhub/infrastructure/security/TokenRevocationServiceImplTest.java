@@ -0,0 +1,169 @@
+package com.example.springreviewhub.infrastructure.security;
+
+import com.example.springreviewhub.core.interfaces.services.IRedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceImplTest {
+
+    private static final long TOKEN_LIFETIME_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final long REVOKED_AT = 1_700_000_000L;
+
+    private final IRedisService redisService = mock(IRedisService.class);
+
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TokenRevocationServiceImpl service;
+
+    private MessageListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(redisService.scan("revoked-user:*")).thenReturn(Set.of("revoked-user:1"));
+        when(redisService.get("revoked-user:1")).thenReturn(String.valueOf(REVOKED_AT));
+
+        service = new TokenRevocationServiceImpl(
+                redisService, meterRegistry, listenerContainer, TOKEN_LIFETIME_MILLIS, 1000, 0.001);
+
+        ArgumentCaptor<MessageListener> listenerCaptor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listenerCaptor.capture(), any(Topic.class));
+        listener = listenerCaptor.getValue();
+    }
+
+    @Test
+    void answersUsersThatWereNeverRevokedWithoutRedis() {
+        assertThat(service.isRevoked(2L, REVOKED_AT - 10)).isFalse();
+
+        verify(redisService, never()).get("revoked-user:2");
+        assertThat(checks("not-revoked")).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsOnlyTokensIssuedBeforeTheRevocation() {
+        assertThat(service.isRevoked(1L, REVOKED_AT - 1)).isTrue();
+        assertThat(service.isRevoked(1L, REVOKED_AT)).isFalse();
+        assertThat(service.isRevoked(1L, REVOKED_AT + 60)).isFalse();
+    }
+
+    @Test
+    void storesAndPublishesARevocation() {
+        long before = Instant.now().getEpochSecond();
+
+        service.revokeUser(5L);
+
+        ArgumentCaptor<String> revokedAt = ArgumentCaptor.forClass(String.class);
+        verify(redisService).set(eq("revoked-user:5"), revokedAt.capture(),
+                eq(TOKEN_LIFETIME_MILLIS), eq(TimeUnit.MILLISECONDS));
+        verify(redisService).publish("revoked-users", "5");
+        assertThat(Long.parseLong(revokedAt.getValue())).isBetween(before, Instant.now().getEpochSecond());
+
+        when(redisService.get("revoked-user:5")).thenReturn(revokedAt.getValue());
+        assertThat(service.isRevoked(5L, before - 1)).isTrue();
+    }
+
+    @Test
+    void addsTheRevocationsOfOtherNodes() {
+        when(redisService.get("revoked-user:9")).thenReturn(String.valueOf(REVOKED_AT));
+        assertThat(service.isRevoked(9L, REVOKED_AT - 1)).isFalse();
+
+        listener.onMessage(message("9"), null);
+
+        assertThat(service.isRevoked(9L, REVOKED_AT - 1)).isTrue();
+    }
+
+    @Test
+    void ignoresMessagesThatAreNotUserIds() {
+        listener.onMessage(message("not-a-user"), null);
+
+        verify(redisService, never()).get(anyString());
+    }
+
+    @Test
+    void failsClosedWhenRedisCannotConfirmAHit() {
+        when(redisService.get("revoked-user:1")).thenThrow(new QueryTimeoutException("Redis timed out"));
+
+        assertThat(service.isRevoked(1L, REVOKED_AT + 60)).isTrue();
+    }
+
+    @Test
+    void countsHitsWithoutAStoredRevocationAsFalsePositives() {
+        // Expired in Redis, still in the filter until the next rebuild
+        when(redisService.get("revoked-user:1")).thenReturn(null);
+
+        assertThat(service.isRevoked(1L, REVOKED_AT - 1)).isFalse();
+        assertThat(checks("false-positive")).isEqualTo(1.0);
+    }
+
+    @Test
+    void rebuildingDropsExpiredRevocations() {
+        when(redisService.scan("revoked-user:*")).thenReturn(Set.of());
+
+        service.rebuild();
+
+        assertThat(service.isRevoked(1L, REVOKED_AT - 1)).isFalse();
+        assertThat(checks("not-revoked")).isEqualTo(1.0);
+    }
+
+    @Test
+    void keepsRevocationsReceivedWhileRebuilding() {
+        when(redisService.get("revoked-user:7")).thenReturn(String.valueOf(REVOKED_AT));
+        // The revocation arrives after the scan read Redis but before the rebuilt filter replaces the old one
+        when(redisService.scan("revoked-user:*")).thenAnswer(invocation -> {
+            listener.onMessage(message("7"), null);
+            return Set.of("revoked-user:1");
+        });
+
+        service.rebuild();
+
+        assertThat(service.isRevoked(7L, REVOKED_AT - 1)).isTrue();
+        assertThat(service.isRevoked(1L, REVOKED_AT - 1)).isTrue();
+    }
+
+    @Test
+    void keepsTheCurrentFilterWhenRebuildingFails() {
+        when(redisService.scan("revoked-user:*")).thenThrow(new QueryTimeoutException("Redis timed out"));
+
+        assertThatThrownBy(service::rebuild).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(service.isRevoked(1L, REVOKED_AT - 1)).isTrue();
+
+        // Revocations received afterwards only go to the current filter
+        listener.onMessage(message("8"), null);
+        when(redisService.get("revoked-user:8")).thenReturn(String.valueOf(REVOKED_AT));
+        assertThat(service.isRevoked(8L, REVOKED_AT - 1)).isTrue();
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("jwt.revocation.checks").tag("result", result).counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("revoked-users".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}